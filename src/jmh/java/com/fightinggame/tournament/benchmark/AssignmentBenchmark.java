@@ -0,0 +1,57 @@
+package com.fightinggame.tournament.benchmark;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.service.assigner.AssignmentStrategy;
+import com.fightinggame.tournament.bracket.service.assigner.AssignmentStrategyFactory;
+import com.fightinggame.tournament.bracket.service.assigner.AssignmentType;
+import com.fightinggame.tournament.bracket.service.assigner.RandomPlayerAssigner;
+import com.fightinggame.tournament.player.model.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Player assignment into the leaves of a generated bracket, for every AssignmentStrategy
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AssignmentBenchmark {
+
+    @Param({"8", "64", "1024", "16384", "262144", "1048576"})
+    private int size;
+
+    @Param({"FULL", "BYE_HEAVY"})
+    private FieldType fieldType;
+
+    @Param({"FULLY_RANDOM", "RANKED_RANDOM"})
+    private AssignmentType assignmentType;
+
+    private AssignmentStrategy strategy;
+    private Bracket bracket;
+    private List<Player> players;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        AssignmentStrategyFactory factory = new AssignmentStrategyFactory(List.of(
+                new RandomPlayerAssigner(BenchmarkFixtures.OPERATOR, BenchmarkFixtures.MATH_UTILS),
+                BenchmarkFixtures.RANKED_ASSIGNER
+        ));
+        strategy = factory.getStrategy(assignmentType);
+
+        int numPlayers = fieldType.numPlayers(size);
+        bracket = BenchmarkFixtures.GENERATOR.generate(numPlayers);
+        players = BenchmarkFixtures.players(numPlayers);
+    }
+
+    // Assigning again only overwrites the leaf players, so the same bracket is reused
+    @Benchmark
+    public Bracket assignPlayers() {
+        strategy.assignPlayers(bracket, players);
+        return bracket;
+    }
+}
@@ -0,0 +1,66 @@
+package com.fightinggame.tournament.benchmark;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.service.assigner.RankedPlayerAssigner;
+import com.fightinggame.tournament.bracket.service.generator.SingleEliminationGenerator;
+import com.fightinggame.tournament.bracket.service.util.ByeMatchSimplifier;
+import com.fightinggame.tournament.match.model.Match;
+import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.shared.MatchOperator;
+import com.fightinggame.tournament.shared.TournamentMathUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Plain wiring of the bracket components, so the benchmarks run without a Spring context
+ */
+final class BenchmarkFixtures {
+
+    static final TournamentMathUtils MATH_UTILS = new TournamentMathUtils();
+    static final MatchOperator OPERATOR = new MatchOperator();
+    static final SingleEliminationGenerator GENERATOR = new SingleEliminationGenerator(MATH_UTILS);
+    static final RankedPlayerAssigner RANKED_ASSIGNER = new RankedPlayerAssigner(OPERATOR, MATH_UTILS);
+    static final ByeMatchSimplifier SIMPLIFIER = new ByeMatchSimplifier(OPERATOR);
+
+    private BenchmarkFixtures() {} // Prevent instantiation
+
+    static List<Player> players(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Player> players = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            players.add(new Player(i, "Player " + i, random.nextInt(3000)));
+        }
+        return players;
+    }
+
+    /**
+     * Generated, seeded and simplified bracket with its first snapshot published, as after POST /bracket
+     */
+    static Bracket initializedBracket(int numPlayers) {
+        Bracket bracket = assignedBracket(numPlayers);
+        SIMPLIFIER.simplify(bracket);
+        OPERATOR.publishSnapshot(bracket);
+        return bracket;
+    }
+
+    /**
+     * Generated and seeded bracket, byes not simplified yet
+     */
+    static Bracket assignedBracket(int numPlayers) {
+        Bracket bracket = GENERATOR.generate(numPlayers);
+        RANKED_ASSIGNER.assignPlayers(bracket, players(numPlayers));
+        return bracket;
+    }
+
+    /**
+     * Reference values of the matches that currently have two players, ready for a result
+     */
+    static int[] playableReferences(Bracket bracket) {
+        return OPERATOR.getLeaves(bracket).stream()
+                .filter(match -> match.getPlayer1() != null && match.getPlayer2() != null)
+                .mapToInt(Match::getReferenceValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,39 @@
+package com.fightinggame.tournament.benchmark;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Empty bracket generation: SingleEliminationGenerator.generate, sequential and on the fork/join pool
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BracketGenerationBenchmark {
+
+    @Param({"8", "64", "1024", "16384", "262144", "1048576"})
+    private int size;
+
+    @Param({"FULL", "BYE_HEAVY"})
+    private FieldType fieldType;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private int numPlayers;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        numPlayers = fieldType.numPlayers(size);
+    }
+
+    @Benchmark
+    public Bracket generate() {
+        return BenchmarkFixtures.GENERATOR.generate(numPlayers, parallel);
+    }
+}
@@ -0,0 +1,40 @@
+package com.fightinggame.tournament.benchmark;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bye removal: ByeMatchSimplifier.simplify, sequential and on the fork/join pool. It prunes the tree, so every invocation gets a freshly seeded bracket.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ByeSimplificationBenchmark {
+
+    @Param({"8", "64", "1024", "16384", "262144", "1048576"})
+    private int size;
+
+    @Param({"FULL", "BYE_HEAVY"})
+    private FieldType fieldType;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private Bracket bracket;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        bracket = BenchmarkFixtures.assignedBracket(fieldType.numPlayers(size));
+    }
+
+    @Benchmark
+    public Bracket simplify() {
+        BenchmarkFixtures.SIMPLIFIER.simplify(bracket, parallel);
+        return bracket;
+    }
+}
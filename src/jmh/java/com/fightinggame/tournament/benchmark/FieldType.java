@@ -0,0 +1,13 @@
+package com.fightinggame.tournament.benchmark;
+
+/**
+ * Shape of the entrant field for a bracket with a given number of spaces
+ */
+public enum FieldType {
+    FULL,       // Every space taken, no byes
+    BYE_HEAVY;  // Half of the spaces plus one taken, close to 50% byes
+
+    public int numPlayers(int spaces) {
+        return this == FULL ? spaces : spaces / 2 + 1;
+    }
+}
@@ -0,0 +1,56 @@
+package com.fightinggame.tournament.benchmark;
+
+import com.fightinggame.tournament.bracket.model.JournalEntry;
+import com.fightinggame.tournament.bracket.model.JournalOperation;
+import com.fightinggame.tournament.bracket.service.util.MatchJournal;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cost of journaling a result: the append alone, and the append plus waiting for its group commit,
+ * with several writers sharing each fsync
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MatchJournalBenchmark {
+
+    @Param({"false", "true"})
+    private boolean awaitDurable;
+
+    private Path directory;
+    private MatchJournal journal;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("match-journal-benchmark");
+        journal = new MatchJournal(directory, true, 1 << 20, awaitDurable);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        journal.destroy();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long selectWinnerEntry() {
+        long position = journal.append(new JournalEntry(JournalOperation.SELECT_WINNER, 1, 2, 3, 4, 5));
+        journal.awaitDurable(position);
+        return position;
+    }
+}
@@ -0,0 +1,72 @@
+package com.fightinggame.tournament.benchmark;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.match.model.Match;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups used on every result entry and initialization: searchMatch, searchParentMatch and getLeaves
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchOperatorBenchmark {
+
+    private static final int LOOKUPS = 1024;    // Power of two, so the cursor wraps with a mask
+
+    @Param({"8", "64", "1024", "16384", "262144", "1048576"})
+    private int size;
+
+    @Param({"FULL", "BYE_HEAVY"})
+    private FieldType fieldType;
+
+    private Bracket bracket;
+    private Bracket unsimplifiedBracket;
+    private int[] references;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int numPlayers = fieldType.numPlayers(size);
+        bracket = BenchmarkFixtures.initializedBracket(numPlayers);
+        unsimplifiedBracket = BenchmarkFixtures.GENERATOR.generate(numPlayers);
+
+        // Random existing references, spread through every round
+        SplittableRandom random = new SplittableRandom(7);
+        references = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            int reference;
+            do {
+                reference = 1 + random.nextInt(size - 1);
+            } while (bracket.getMatch(reference) == null);
+            references[i] = reference;
+        }
+    }
+
+    @Benchmark
+    public Match searchMatch() {
+        return BenchmarkFixtures.OPERATOR.searchMatch(bracket, nextReference());
+    }
+
+    @Benchmark
+    public Match searchParentMatch() {
+        return BenchmarkFixtures.OPERATOR.searchParentMatch(bracket, nextReference());
+    }
+
+    @Benchmark
+    public List<Match> getLeaves() {
+        return BenchmarkFixtures.OPERATOR.getLeaves(unsimplifiedBracket);
+    }
+
+    private int nextReference() {
+        cursor = (cursor + 1) & (LOOKUPS - 1);
+        return references[cursor];
+    }
+}
@@ -0,0 +1,86 @@
+package com.fightinggame.tournament.benchmark;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.service.BracketService;
+import com.fightinggame.tournament.bracket.service.util.BracketEventBroadcaster;
+import com.fightinggame.tournament.bracket.service.util.BracketWriteBehind;
+import com.fightinggame.tournament.bracket.service.util.BracketRegistry;
+import com.fightinggame.tournament.bracket.service.util.MatchJournal;
+import com.fightinggame.tournament.match.model.Match;
+import com.fightinggame.tournament.match.service.MatchService;
+import com.fightinggame.tournament.player.model.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result entry through MatchService: lookup, lock, advancement or clearing and snapshot publication
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultEntryBenchmark {
+
+    @Param({"8", "64", "1024", "16384", "262144", "1048576"})
+    private int size;
+
+    @Param({"FULL", "BYE_HEAVY"})
+    private FieldType fieldType;
+
+    private MatchService matchService;
+    private Bracket bracket;
+    private long bracketId;
+    private int[] references;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BracketRegistry registry = new BracketRegistry();
+        MatchJournal journalDisabled = MatchJournal.disabled();     // Measured on its own in MatchJournalBenchmark
+        BracketWriteBehind storageDisabled = new BracketWriteBehind(null, null, journalDisabled, 0);
+        BracketService bracketService = new BracketService(null, null, BenchmarkFixtures.OPERATOR, registry, storageDisabled,
+                journalDisabled, null);
+        // Without subscribers publishing the change event is only an empty loop
+        matchService = new MatchService(bracketService, BenchmarkFixtures.OPERATOR, new BracketEventBroadcaster(256, 1, 0),
+                storageDisabled, journalDisabled);
+
+        bracket = BenchmarkFixtures.initializedBracket(fieldType.numPlayers(size));
+        bracketId = registry.storeBracket(bracket);
+        references = BenchmarkFixtures.playableReferences(bracket);
+    }
+
+    /**
+     * Alternates the winner of first round matches, so after the first pass every call also clears
+     * the previous winner from the next match before advancing the new one
+     */
+    @Benchmark
+    public Bracket selectWinner() {
+        Match match = nextMatch();
+        Player winner = match.getWinner() == match.getPlayer1() ? match.getPlayer2() : match.getPlayer1();
+        matchService.selectWinner(bracketId, match.getReferenceValue(), (int) winner.getId());
+        return bracket;
+    }
+
+    /**
+     * Declares a winner and reverts it, leaving the bracket as it was
+     */
+    @Benchmark
+    public Bracket selectThenDeselectWinner() {
+        Match match = nextMatch();
+        if (match.getWinner() != null) {
+            matchService.deselectWinner(bracketId, match.getReferenceValue(), (int) match.getWinner().getId());
+        }
+        int winnerId = (int) match.getPlayer1().getId();
+        matchService.selectWinner(bracketId, match.getReferenceValue(), winnerId);
+        matchService.deselectWinner(bracketId, match.getReferenceValue(), winnerId);
+        return bracket;
+    }
+
+    private Match nextMatch() {
+        cursor = cursor + 1 == references.length ? 0 : cursor + 1;
+        return bracket.getMatch(references[cursor]);
+    }
+}
@@ -0,0 +1,52 @@
+package com.fightinggame.tournament.benchmark;
+
+import com.fightinggame.tournament.swiss.model.SwissRound;
+import com.fightinggame.tournament.swiss.model.SwissTournament;
+import com.fightinggame.tournament.swiss.service.SwissPairingEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pairing of a late Swiss round, when score groups are small and the rematch index is at its largest
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SwissPairingBenchmark {
+
+    private static final SwissPairingEngine ENGINE = new SwissPairingEngine();
+
+    @Param({"1024", "20000", "100000"})
+    private int size;
+
+    @Param({"1", "8"})
+    private int playedRounds;
+
+    private SwissTournament tournament;
+
+    // Each invocation pairs a round on top of the same history, so the tournament is rebuilt every time
+    @Setup(Level.Invocation)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        tournament = new SwissTournament(1, BenchmarkFixtures.players(size));
+        for (int played = 0; played < playedRounds; played++) {
+            SwissRound round = ENGINE.pairNextRound(tournament);
+            for (int table = 0; table < round.getTables(); table++) {
+                if (round.getPlayer2()[table] == SwissRound.NONE) continue;
+                int winner = random.nextBoolean() ? round.getPlayer1()[table] : round.getPlayer2()[table];
+                round.setWinner(table, winner);
+                tournament.getPoints()[winner]++;
+            }
+        }
+    }
+
+    @Benchmark
+    public SwissRound pairNextRound() {
+        return ENGINE.pairNextRound(tournament);
+    }
+}
@@ -1,13 +1,27 @@
 package com.fightinggame.tournament.bracket.controller;
 
+import com.fightinggame.tournament.bracket.dto.BracketJobResponse;
 import com.fightinggame.tournament.bracket.dto.BracketResponse;
 import com.fightinggame.tournament.match.dto.SelectWinnerRequest;
 import com.fightinggame.tournament.bracket.dto.BracketInitializationRequest;
+import com.fightinggame.tournament.bracket.model.BracketSnapshot;
+import com.fightinggame.tournament.bracket.service.BracketJobService;
 import com.fightinggame.tournament.bracket.service.BracketService;
+import com.fightinggame.tournament.bracket.service.util.BracketEventBroadcaster;
+import com.fightinggame.tournament.bracket.service.util.BracketJsonWriter;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 
 /**
  * REST Controller managing tournament brackets - creation and retrieval.
@@ -19,31 +33,209 @@ public class BracketController {
     @Autowired
     private BracketService bracketService;
 
+    @Autowired
+    private BracketJobService bracketJobService;
+
+    @Autowired
+    private BracketJsonWriter bracketJsonWriter;
+
+    @Autowired
+    private BracketEventBroadcaster bracketEventBroadcaster;
+
     /**
      * Creates new bracket with specified assignment strategy.
      * @param initializationRequest Contains strategy type (RANDOM/SKILL_BASED)
-     * @return 200 OK
+     * @return 200 OK with the new bracket location
      * @throws IllegalArgumentException for invalid request
      */
     @PostMapping
     public ResponseEntity<Void> createBracket (
             @RequestBody @Valid BracketInitializationRequest initializationRequest
     ) {
-        bracketService.initializeBracket(initializationRequest);
+        long bracketId = bracketService.initializeBracket(initializationRequest);
+
+        return ResponseEntity.ok().location(URI.create("/bracket/" + bracketId)).build();
+    }
+
+    /**
+     * Queues the creation of a bracket and returns at once, for large fields.
+     * @param initializationRequest Same as the synchronous creation
+     * @return 202 Accepted with the job and its location, 503 if too many jobs are queued
+     * @throws IllegalArgumentException for invalid request
+     */
+    @PostMapping(params = "async=true")
+    public ResponseEntity<BracketJobResponse> createBracketAsync (
+            @RequestBody @Valid BracketInitializationRequest initializationRequest
+    ) {
+        BracketJobResponse job = bracketJobService.submit(initializationRequest);
+
+        return ResponseEntity.accepted().location(URI.create("/bracket/jobs/" + job.id())).body(job);
+    }
+
+    /**
+     * Polls a bracket creation job, once completed it has the id of the new bracket.
+     * @param id Job's unique identifier
+     * @return 200 OK with the job status, 404 if not found
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<BracketJobResponse> getJob (@PathVariable long id) {
+        return ResponseEntity.ok(bracketJobService.getJob(id));
+    }
+
+    /**
+     * Cancels a queued or running bracket creation job, its bracket is discarded.
+     * @param id Job's unique identifier
+     * @return 200 OK with the job status (unchanged if it had already finished), 404 if not found
+     */
+    @DeleteMapping("/jobs/{id}")
+    public ResponseEntity<BracketJobResponse> cancelJob (@PathVariable long id) {
+        return ResponseEntity.ok(bracketJobService.cancel(id));
+    }
+
+    /**
+     * Loads a bracket exported from this or another instance, it becomes the current bracket.
+     * @param contentLength Declared size of the upload, a larger one than allowed is rejected before reading it
+     * @param body Bytes of a bracket export
+     * @return 200 OK with the new bracket location, 400 if the file isn't a valid bracket export, 413 if it is too large
+     */
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Void> importBracket (
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, required = false) Long contentLength,
+            InputStream body) throws IOException {
+        long bracketId = bracketService.importBracket(body, contentLength != null ? contentLength : -1);
+
+        return ResponseEntity.ok().location(URI.create("/bracket/" + bracketId)).build();
+    }
+
+    /**
+     * Exports a bracket with its players and results in the compact binary format, to load it elsewhere.
+     * @param id Bracket's unique identifier
+     * @return 200 OK with the file, 404 if not found
+     */
+    @GetMapping(path = "/{id}/export", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> exportBracket (@PathVariable long id) {
+        byte[] file = bracketService.exportBracket(id);
 
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bracket-" + id + ".ftbr\"")
+                .body(file);
     }
 
     /**
      * Gets current bracket with match pairings and player assignments.
-     * @return 200 OK with bracket data
+     * @param ifNoneMatch ETag of the version the client already has
+     * @return 200 OK with bracket data and its ETag, 304 Not Modified if the version didn't change
      */
     @GetMapping
-    public ResponseEntity<BracketResponse> getBracket () {
+    public ResponseEntity<BracketResponse> getBracket (
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         var currentBracket = bracketService.getCurrentBracket();
-        return currentBracket != null ? ResponseEntity.ok(currentBracket)
+        return currentBracket != null ? versionedResponse(currentBracket, ifNoneMatch)
                 : ResponseEntity.noContent().build();
     }
 
+    /**
+     * Gets a specific bracket when several tournaments run at the same time.
+     * @param id Bracket's unique identifier
+     * @param ifNoneMatch ETag of the version the client already has
+     * @return 200 OK with bracket data, 304 Not Modified if the version didn't change, 404 if not found
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<BracketResponse> getBracketById (
+            @PathVariable long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return versionedResponse(bracketService.getBracket(id), ifNoneMatch);
+    }
+
+    /**
+     * Streams the current bracket as a flat list of matches plus a player table, for large brackets.
+     * @return 200 OK with the flat bracket, 304 Not Modified if the version didn't change,
+     * 204 No Content if none was initialized
+     */
+    @GetMapping("/matches")
+    public ResponseEntity<StreamingResponseBody> getBracketMatches (
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return streamFlat(bracketService.getCurrentBracket().bracket(), ifNoneMatch);
+    }
+
+    /**
+     * Streams a specific bracket as a flat list of matches plus a player table.
+     * @param id Bracket's unique identifier
+     * @return 200 OK with the flat bracket, 304 Not Modified if the version didn't change, 404 if not found
+     */
+    @GetMapping("/{id}/matches")
+    public ResponseEntity<StreamingResponseBody> getBracketMatchesById (
+            @PathVariable long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return streamFlat(bracketService.getBracket(id).bracket(), ifNoneMatch);
+    }
+
+    /**
+     * Server-Sent Events feed of result changes, one "match" event per winner selection or removal with the
+     * changed matches. A "resync" event (also the first one) means the client must reload the bracket.
+     * @param bracketId Only follow this bracket, every bracket if absent
+     * @return the event stream
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBracketChanges (@RequestParam(required = false) Long bracketId) {
+        return bracketEventBroadcaster.subscribe(bracketId);
+    }
+
+    private ResponseEntity<BracketResponse> versionedResponse (BracketResponse response, String ifNoneMatch) {
+        BracketSnapshot snapshot = response.bracket();
+        if (snapshot == null) {
+            return ResponseEntity.ok(response);
+        }
+        // Unchanged polls are answered from the version number alone, the tree is not serialized
+        if (isNotModified(snapshot, ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.eTag()).build();
+        }
+        return ResponseEntity.ok().eTag(snapshot.eTag()).body(response);
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamFlat (BracketSnapshot snapshot, String ifNoneMatch) {
+        if (snapshot == null) {
+            return ResponseEntity.noContent().build();
+        }
+        if (isNotModified(snapshot, ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.eTag()).build();
+        }
+        // The snapshot is immutable, so it can be written after the request thread returns
+        return ResponseEntity.ok()
+                .eTag(snapshot.eTag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> bracketJsonWriter.writeFlat(snapshot, outputStream));
+    }
+
+    /**
+     * Compare the If-None-Match header (one or more tags, weak or strong) with the snapshot version
+     */
+    private boolean isNotModified (BracketSnapshot snapshot, String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String eTag = snapshot.eTag();
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(eTag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes a finished bracket from memory.
+     * @param id Bracket's unique identifier
+     * @return 204 No Content on success, 404 if not found
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteBracket (@PathVariable long id) {
+        bracketService.deleteBracket(id);
+        return ResponseEntity.noContent().build();
+    }
 
 }
@@ -0,0 +1,16 @@
+package com.fightinggame.tournament.bracket.dto;
+
+import com.fightinggame.tournament.match.model.MatchDelta;
+
+import java.util.List;
+
+/**
+ * Pushed to stream subscribers once per result change, with only the matches that changed.
+ * @param version bracket version this change produced, the same one served as ETag by GET /bracket
+ */
+public record BracketChangeEvent(
+        long bracketId,
+        long version,
+        List<MatchDelta> matches
+) {
+}
@@ -1,12 +1,20 @@
 package com.fightinggame.tournament.bracket.dto;
 
+import com.fightinggame.tournament.bracket.model.BracketFormat;
 import com.fightinggame.tournament.bracket.service.assigner.AssignmentType;
-import com.fightinggame.tournament.player.dto.PlayerRequest;
-import jakarta.validation.constraints.NotNull;
 
 import java.util.List;
 
+/**
+ * @param format bracket format, single elimination when absent
+ * @param playerIds entrants of the bracket, every registered player when absent
+ */
 public record BracketInitializationRequest(
-        AssignmentType assignerType
+        AssignmentType assignerType,
+        BracketFormat format,
+        List<Long> playerIds
 ) {
+    public BracketInitializationRequest(AssignmentType assignerType, BracketFormat format) {
+        this(assignerType, format, null);
+    }
 }
@@ -0,0 +1,31 @@
+package com.fightinggame.tournament.bracket.dto;
+
+import com.fightinggame.tournament.bracket.model.BracketJob;
+import com.fightinggame.tournament.bracket.model.BracketJobStatus;
+
+import java.time.Instant;
+
+/**
+ * @param bracketId the generated bracket once the job is completed
+ * @param message why the job failed
+ */
+public record BracketJobResponse(
+        long id,
+        BracketJobStatus status,
+        Long bracketId,
+        String message,
+        Instant createdAt,
+        Instant finishedAt
+) {
+
+    public static BracketJobResponse fromEntity(BracketJob job) {
+        return new BracketJobResponse(
+                job.getId(),
+                job.getStatus(),
+                job.getBracketId(),
+                job.getMessage(),
+                job.getCreatedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
@@ -1,14 +1,15 @@
 package com.fightinggame.tournament.bracket.dto;
 
 import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.BracketSnapshot;
 
 public record BracketResponse(
-        Bracket bracket
+        BracketSnapshot bracket
 ) {
 
     public static BracketResponse fromEntity(Bracket bracket) {
         return new BracketResponse(
-                bracket
+                bracket != null ? bracket.getSnapshot() : null
         );
     }
 }
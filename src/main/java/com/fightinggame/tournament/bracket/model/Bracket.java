@@ -1,7 +1,11 @@
 package com.fightinggame.tournament.bracket.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fightinggame.tournament.match.model.Match;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.concurrent.locks.StampedLock;
 
 /**
  * Representation of the bracket in our system
@@ -14,6 +18,152 @@ public class Bracket {
 
     private Match rootMatch;    // Finals
 
+    // Incremented on every published change, only written by the bracket writer
+    private long version;
+
+    // Implicit heap of the same matches: root at 1, children of i at 2i and 2i+1 (index 0 unused)
+    @JsonIgnore
+    private Match[] matches;
+
+    // Double elimination only: losers bracket matches round by round, followed by the grand finals and its reset.
+    // Their reference values continue after the winners bracket ones (numOfSpaces + index)
+    @JsonIgnore
+    private Match[] losersMatches;
+
+    // Double elimination only: reference value of the match where the loser of each winners bracket match drops
+    @JsonIgnore
+    private int[] dropTable;
+
+    // Serializes result submissions on this bracket
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private final StampedLock lock = new StampedLock();
+
+    // Set under the write lock once the bracket is deleted, writers that locked it afterwards must give up
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private volatile boolean deleted;
+
+    // Last published immutable version, swapped by the writer and read without locking
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private volatile BracketSnapshot snapshot;
+
+    /**
+     * Allocate the heap index for a bracket with the given number of player spaces (a power of two)
+     */
+    public void initializeIndex(int numOfSpaces) {
+        this.matches = new Match[numOfSpaces];
+    }
+
+    /**
+     * Store the match in the heap slot that corresponds to its reference value
+     */
+    public void indexMatch(Match match) {
+        matches[heapIndexOf(match.getReferenceValue())] = match;
+    }
+
+    /**
+     * Remove the match from the index, used when a bye match is pruned from the tree
+     */
+    public void unindexMatch(Match match) {
+        int index = heapIndexOf(match.getReferenceValue());
+        if (index > 0 && matches[index] == match) {
+            matches[index] = null;
+            return;
+        }
+        int losersIndex = losersIndexOf(match.getReferenceValue());
+        if (losersIndex >= 0 && losersMatches[losersIndex] == match) {
+            losersMatches[losersIndex] = null;
+        }
+    }
+
+    /**
+     * Constant time lookup of a match by its reference value
+     * @return the match or null if it doesn't exist (or was pruned)
+     */
+    public Match getMatch(int referenceValue) {
+        int index = heapIndexOf(referenceValue);
+        if (index > 0) return matches[index];
+
+        int losersIndex = losersIndexOf(referenceValue);
+        return losersIndex >= 0 ? losersMatches[losersIndex] : null;
+    }
+
+    /**
+     * Constant time lookup of the next match (parent) of a match by its reference value
+     * @return the parent match or null for the last match and unknown references
+     */
+    public Match getParentMatch(int referenceValue) {
+        Match match = getMatch(referenceValue);
+        return match != null ? match.getParentMatch() : null;
+    }
+
+    /**
+     * Constant time lookup of the match where the loser of a winners bracket match drops
+     * @return the losers bracket match (or grand finals), null for single elimination brackets
+     */
+    public Match getLoserMatch(int referenceValue) {
+        if (dropTable == null || referenceValue <= 0 || referenceValue >= dropTable.length) {
+            return null;
+        }
+        return getMatch(dropTable[referenceValue]);
+    }
+
+    @JsonIgnore
+    public boolean isDoubleElimination() {
+        return dropTable != null;
+    }
+
+    @JsonIgnore
+    public BracketFormat getFormat() {
+        return isDoubleElimination() ? BracketFormat.DOUBLE_ELIMINATION : BracketFormat.SINGLE_ELIMINATION;
+    }
+
+    /**
+     * The grand finals of a double elimination bracket (its reset is the root match)
+     * @return the grand finals or null for single elimination brackets
+     */
+    @JsonIgnore
+    public Match getGrandFinal() {
+        return losersMatches != null ? losersMatches[losersMatches.length - 2] : null;
+    }
+
+    private int losersIndexOf(int referenceValue) {
+        if (losersMatches == null || matches == null) {
+            return -1;
+        }
+        int index = referenceValue - matches.length;
+        return index >= 0 && index < losersMatches.length ? index : -1;
+    }
+
+    /**
+     * Inverse of the heap index: the in-order reference value of the match stored in a heap slot
+     */
+    public int referenceValueOf(int heapIndex) {
+        int levels = Integer.numberOfTrailingZeros(matches.length);
+        int depth = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(heapIndex);
+        int position = heapIndex - (1 << depth);
+        int height = levels - 1 - depth;
+        return ((position << 1) | 1) << height;
+    }
+
+    /**
+     * Reference values are the in-order positions of a perfect tree (1 to numOfSpaces-1), so the
+     * number of trailing zeros is the height of the match and the remaining bits its position in that layer.
+     * @return the heap index or -1 when the reference value is outside the bracket
+     */
+    private int heapIndexOf(int referenceValue) {
+        if (matches == null || referenceValue <= 0 || referenceValue >= matches.length) {
+            return -1;
+        }
+        int levels = Integer.numberOfTrailingZeros(matches.length);    // matches.length is a power of two
+        int height = Integer.numberOfTrailingZeros(referenceValue);
+        int depth = levels - 1 - height;
+        int position = referenceValue >>> (height + 1);
+        return (1 << depth) + position;
+    }
+
     public String toString () {
 
         if (rootMatch == null) {
@@ -42,4 +192,4 @@ public class Bracket {
             concatMatchStringRecursive (match.getRightMatch(), depth+1, text);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.fightinggame.tournament.bracket.model;
+
+/**
+ * Elimination formats, the code is what exported bracket files store
+ */
+public enum BracketFormat {
+    SINGLE_ELIMINATION(0),
+    DOUBLE_ELIMINATION(1);
+
+    private final byte code;
+
+    BracketFormat(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * @return the format with this code or null for an unknown one
+     */
+    public static BracketFormat fromCode(byte code) {
+        for (BracketFormat format : values()) {
+            if (format.code == code) return format;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,77 @@
+package com.fightinggame.tournament.bracket.model;
+
+import com.fightinggame.tournament.bracket.dto.BracketInitializationRequest;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.concurrent.Future;
+
+/**
+ * Bracket generation running in the background. Status changes are synchronized on the job,
+ * so a cancelled job can never register its bracket and a registered one can't be cancelled.
+ */
+@Getter
+public class BracketJob {
+
+    private final long id;
+    private final BracketInitializationRequest request;
+    private final Instant createdAt = Instant.now();
+
+    private volatile BracketJobStatus status = BracketJobStatus.QUEUED;
+    private volatile Long bracketId;
+    private volatile String message;
+    private volatile Instant finishedAt;
+
+    // Set right after queueing, used to interrupt a running job on cancellation
+    @Setter
+    private volatile Future<?> future;
+
+    public BracketJob(long id, BracketInitializationRequest request) {
+        this.id = id;
+        this.request = request;
+    }
+
+    /**
+     * @return false if it was cancelled while queued
+     */
+    public synchronized boolean start() {
+        if (status != BracketJobStatus.QUEUED) return false;
+        status = BracketJobStatus.RUNNING;
+        return true;
+    }
+
+    public synchronized void complete(long bracketId) {
+        this.bracketId = bracketId;
+        finish(BracketJobStatus.COMPLETED, null);
+    }
+
+    /**
+     * Ignored once the job was cancelled, the interruption may be what made it fail
+     * @return false if it was cancelled
+     */
+    public synchronized boolean fail(String message) {
+        if (status != BracketJobStatus.RUNNING) return false;
+        finish(BracketJobStatus.FAILED, message);
+        return true;
+    }
+
+    /**
+     * @return false if the job had already finished
+     */
+    public synchronized boolean cancel() {
+        if (status != BracketJobStatus.QUEUED && status != BracketJobStatus.RUNNING) return false;
+        finish(BracketJobStatus.CANCELLED, null);
+        return true;
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    private void finish(BracketJobStatus status, String message) {
+        this.message = message;
+        this.finishedAt = Instant.now();
+        this.status = status;
+    }
+}
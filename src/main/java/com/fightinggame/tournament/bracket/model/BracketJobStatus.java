@@ -0,0 +1,9 @@
+package com.fightinggame.tournament.bracket.model;
+
+public enum BracketJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
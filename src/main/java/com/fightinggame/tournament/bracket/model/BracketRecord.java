@@ -0,0 +1,36 @@
+package com.fightinggame.tournament.bracket.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stored form of a bracket: one row per bracket with its matches packed in heap order
+ * (see {@link com.fightinggame.tournament.bracket.service.util.BracketCodec}) instead of one row per match
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class BracketRecord {
+
+    @Id
+    private long id;    // Same id as the bracket in the registry
+
+    @Enumerated (EnumType.STRING)
+    private BracketFormat format;
+
+    private int numOfSpaces;
+
+    private long version;
+
+    @Lob
+    @Column (nullable = false)
+    private byte[] state;
+}
@@ -0,0 +1,32 @@
+package com.fightinggame.tournament.bracket.model;
+
+import com.fightinggame.tournament.match.model.MatchSnapshot;
+
+/**
+ * Immutable, structurally shared version of a {@link Bracket} handed to readers without any locking.
+ */
+public record BracketSnapshot(
+        long id,
+        long version,
+        BracketFormat format,
+        MatchSnapshot rootMatch
+) {
+
+    /**
+     * Entity tag of this version, a new bracket always gets a new id so both are part of it
+     */
+    public String eTag() {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Root of the winners bracket, every player starts there: the bracket root for single elimination,
+     * the left side of the grand finals (child of the root reset match) for double elimination
+     */
+    public MatchSnapshot winnersRootMatch() {
+        if (format != BracketFormat.DOUBLE_ELIMINATION || rootMatch == null) {
+            return rootMatch;
+        }
+        return rootMatch.leftMatch().leftMatch();
+    }
+}
@@ -0,0 +1,27 @@
+package com.fightinggame.tournament.bracket.model;
+
+/**
+ * One change of a bracket as recorded in the match journal.
+ * @param version bracket version published by the change (entries of one batch share it)
+ * @param matchReferenceValue target match of a result, 0 for whole bracket operations
+ * @param playerId winner selected or deselected, 0 for whole bracket operations
+ * @param timestamp epoch milliseconds of the change
+ */
+public record JournalEntry(
+        JournalOperation operation,
+        long bracketId,
+        long version,
+        int matchReferenceValue,
+        long playerId,
+        long timestamp
+) {
+
+    public static JournalEntry of(JournalOperation operation, Bracket bracket, int matchReferenceValue, long playerId) {
+        return new JournalEntry(operation, bracket.getId(), bracket.getVersion(), matchReferenceValue, playerId,
+                System.currentTimeMillis());
+    }
+
+    public static JournalEntry of(JournalOperation operation, Bracket bracket) {
+        return of(operation, bracket, 0, 0);
+    }
+}
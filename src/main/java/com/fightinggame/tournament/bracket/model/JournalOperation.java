@@ -0,0 +1,31 @@
+package com.fightinggame.tournament.bracket.model;
+
+/**
+ * Bracket changes recorded in the match journal, the code is what gets stored
+ */
+public enum JournalOperation {
+    INITIALIZE(1),
+    SELECT_WINNER(2),
+    DESELECT_WINNER(3),
+    DELETE(4);
+
+    private final byte code;
+
+    JournalOperation(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * @return the operation with this code or null for an unknown one (an empty or torn journal slot)
+     */
+    public static JournalOperation fromCode(byte code) {
+        for (JournalOperation operation : values()) {
+            if (operation.code == code) return operation;
+        }
+        return null;
+    }
+}
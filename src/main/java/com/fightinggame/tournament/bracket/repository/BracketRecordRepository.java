@@ -0,0 +1,7 @@
+package com.fightinggame.tournament.bracket.repository;
+
+import com.fightinggame.tournament.bracket.model.BracketRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BracketRecordRepository extends JpaRepository<BracketRecord, Long> {
+}
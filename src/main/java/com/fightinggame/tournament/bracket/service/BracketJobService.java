@@ -0,0 +1,171 @@
+package com.fightinggame.tournament.bracket.service;
+
+import com.fightinggame.tournament.bracket.dto.BracketInitializationRequest;
+import com.fightinggame.tournament.bracket.dto.BracketJobResponse;
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.BracketJob;
+import com.fightinggame.tournament.exception.model.JobNotFoundException;
+import com.fightinggame.tournament.exception.model.JobRejectedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates brackets in the background, so large fields don't hold request threads.
+ *
+ * <p>Jobs run on a small dedicated pool with a bounded queue: when it is full new jobs are rejected instead of
+ * piling up, so several organizers re-seeding at once can't starve the rest of the API. Finished jobs are kept
+ * for polling, the oldest ones are forgotten past the retention limit.
+ */
+@Slf4j
+@Service
+public class BracketJobService implements DisposableBean {
+
+    private final BracketService bracketService;
+    private final ThreadPoolExecutor executor;
+    private final int retainedJobs;
+
+    private final ConcurrentMap<Long, BracketJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    // Finished jobs in finishing order, for the retention limit
+    private final Queue<Long> finishedJobs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger finishedCount = new AtomicInteger();
+
+    /**
+     * @param threads brackets generated at the same time
+     * @param queueCapacity jobs waiting for a thread before new ones are rejected
+     * @param retainedJobs finished jobs kept for polling
+     */
+    public BracketJobService(
+            BracketService bracketService,
+            @Value("${tournament.jobs.threads:2}") int threads,
+            @Value("${tournament.jobs.queue-capacity:16}") int queueCapacity,
+            @Value("${tournament.jobs.retained:256}") int retainedJobs
+    ) {
+        this.bracketService = bracketService;
+        this.retainedJobs = retainedJobs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bracket-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queue the generation of a bracket, the request is validated before queueing
+     * @return the queued job
+     * @throws IllegalArgumentException for invalid input
+     * @throws JobRejectedException if the queue is full
+     */
+    public BracketJobResponse submit(BracketInitializationRequest initializationRequest) {
+
+        bracketService.validateRequest(initializationRequest);
+
+        BracketJob job = new BracketJob(ids.incrementAndGet(), initializationRequest);
+        jobs.put(job.getId(), job);
+        try {
+            job.setFuture(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new JobRejectedException("Too many brackets are being generated, retry later");
+        }
+        return BracketJobResponse.fromEntity(job);
+    }
+
+    /**
+     * @throws JobNotFoundException if there is no job with this id (or it was forgotten)
+     */
+    public BracketJobResponse getJob(long jobId) {
+        return BracketJobResponse.fromEntity(findJob(jobId));
+    }
+
+    /**
+     * Cancel a queued or running job, its bracket is discarded. Finished jobs are left as they are.
+     * @throws JobNotFoundException if there is no job with this id (or it was forgotten)
+     */
+    public BracketJobResponse cancel(long jobId) {
+        BracketJob job = findJob(jobId);
+        if (job.cancel()) {
+            Future<?> future = job.getFuture();
+            if (future != null) {
+                future.cancel(true);    // Interrupts it if running
+                if (future instanceof Runnable task) executor.remove(task);     // Frees its queue slot if queued
+            }
+            retain(job);
+        }
+        return BracketJobResponse.fromEntity(job);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void run(BracketJob job) {
+        if (!job.start()) return;
+        boolean finishedHere = false;
+        try {
+            finishedHere = generate(job);
+        } catch (RuntimeException e) {
+            finishedHere = job.fail(e.getMessage());
+            if (finishedHere && !(e instanceof IllegalArgumentException)) {
+                log.warn("Bracket job {} failed", job.getId(), e);
+            }
+        } finally {
+            // Errors (a field too large for the heap) are not handled, they propagate; the job only stops looking alive
+            if (finishedHere || job.fail("Bracket generation stopped by an internal error")) {
+                retain(job);
+            }
+        }
+    }
+
+    /**
+     * @return whether the job was completed here, false if it was cancelled while generating
+     */
+    private boolean generate(BracketJob job) {
+        Bracket bracket = bracketService.buildBracket(job.getRequest());
+        synchronized (job) {
+            if (job.isFinished()) return false;     // Cancelled while generating
+            job.complete(bracketService.registerBracket(bracket));
+            return true;
+        }
+    }
+
+    private BracketJob findJob(long jobId) {
+        BracketJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new JobNotFoundException("There is no job with id " + jobId);
+        }
+        return job;
+    }
+
+    private void retain(BracketJob job) {
+        finishedJobs.add(job.getId());
+        if (finishedCount.incrementAndGet() > retainedJobs) {
+            Long oldest = finishedJobs.poll();
+            if (oldest != null) {
+                jobs.remove(oldest);
+                finishedCount.decrementAndGet();
+            }
+        }
+    }
+}
@@ -3,17 +3,29 @@ package com.fightinggame.tournament.bracket.service;
 import com.fightinggame.tournament.bracket.dto.BracketResponse;
 import com.fightinggame.tournament.bracket.model.Bracket;
 import com.fightinggame.tournament.bracket.dto.BracketInitializationRequest;
+import com.fightinggame.tournament.bracket.model.JournalEntry;
+import com.fightinggame.tournament.bracket.model.JournalOperation;
 import com.fightinggame.tournament.bracket.service.assigner.AssignmentType;
-import com.fightinggame.tournament.bracket.service.initializer.BracketInitializer;
-import com.fightinggame.tournament.bracket.service.util.BracketHolder;
-import com.fightinggame.tournament.player.dto.PlayerResponse;
+import com.fightinggame.tournament.bracket.model.BracketFormat;
+import com.fightinggame.tournament.bracket.service.initializer.BracketInitializerFactory;
+import com.fightinggame.tournament.bracket.service.util.BracketCodec;
+import com.fightinggame.tournament.bracket.service.util.BracketRegistry;
+import com.fightinggame.tournament.bracket.service.util.BracketWriteBehind;
+import com.fightinggame.tournament.bracket.service.util.MatchJournal;
+import com.fightinggame.tournament.exception.model.BracketFileTooLargeException;
+import com.fightinggame.tournament.exception.model.BracketNotFoundException;
 import com.fightinggame.tournament.player.model.Player;
 import com.fightinggame.tournament.player.service.PlayerService;
+import com.fightinggame.tournament.shared.Interruption;
+import com.fightinggame.tournament.shared.MatchOperator;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.StampedLock;
 
 /**
  * Service class for initializing, storing and returning the bracket
@@ -23,71 +35,197 @@ import java.util.stream.Collectors;
 public class BracketService {
 
     private final PlayerService playerService;
-    private final BracketInitializer bracketInitializer;
+    private final BracketInitializerFactory bracketInitializerFactory;
+    private final MatchOperator bracketOperator;
 
-    // Basic singleton holder instead of repository persistence for now
-    private final BracketHolder bracketHolder = BracketHolder.getInstance();
+    // In-memory cache of every running bracket, rebuilt at startup from the stored brackets and the journal
+    private final BracketRegistry bracketRegistry;
+
+    // Stores brackets in the database in the background, so they survive a restart
+    private final BracketWriteBehind bracketWriteBehind;
+
+    // Records every bracket change for crash recovery and disputes
+    private final MatchJournal matchJournal;
+
+    // Binary export and import of whole brackets
+    private final BracketCodec bracketCodec;
 
     /**
      * Creates and configures a tournament bracket from player data.
      *
      * <p>Performs full initialization pipeline:
      * 1. Validates ≥3 players exist
-     * 2. Converts PlayerResponse → Player
-     * 3. Executes facade to generate, populate and simplify a bracket
-     * 4. Stores bracket
+     * 2. Reads the entrants (all players by default) as Player objects in one pass
+     * 3. Executes the facade of the requested format to generate, populate and simplify a bracket
+     * 4. Publishes its first immutable snapshot
+     * 5. Stores bracket in the registry as the current one
+     * 6. Stores its first version in the database and records it in the journal
      *
-     * @param initializationRequest contains assignment strategy
+     * @param initializationRequest contains assignment strategy and bracket format (single elimination by default)
+     * @return the id of the new bracket
      * @throws IllegalArgumentException for invalid input (null, <3 players)
      */
-    public void initializeBracket(BracketInitializationRequest initializationRequest) {
+    public long initializeBracket(BracketInitializationRequest initializationRequest) {
+        validateRequest(initializationRequest);
+        return registerBracket(buildBracket(initializationRequest));
+    }
+
+    /**
+     * Checks that only need the request, so asynchronous jobs can reject it before queueing
+     * @throws IllegalArgumentException for a null request or assignment type
+     */
+    void validateRequest(BracketInitializationRequest initializationRequest) {
 
         if (initializationRequest == null) {
             throw new IllegalArgumentException("BracketInitializationRequest cannot be null");
         }
-
-        AssignmentType assignmentType = initializationRequest.assignerType();
-        if (assignmentType == null) {
+        if (initializationRequest.assignerType() == null) {
             throw new IllegalArgumentException("AssignmentType cannot be null");
         }
+    }
 
-        List<PlayerResponse> playerResponses = playerService.getAllPlayers();
-        if (playerResponses == null) {
+    /**
+     * Generates, populates and simplifies the bracket, the expensive part, without making it reachable
+     * @throws IllegalArgumentException for less than 3 players
+     */
+    Bracket buildBracket(BracketInitializationRequest initializationRequest) {
+
+        AssignmentType assignmentType = initializationRequest.assignerType();
+
+        List<Player> players = playerService.getEntrants(initializationRequest.playerIds());
+        if (players == null) {
             throw new IllegalStateException("PlayerService returned null player list");
         }
-        if (playerResponses.isEmpty()) {
+        if (players.size() <= 2) {
             throw new IllegalArgumentException("At least 3 players required");
         }
-        if (playerResponses.size() <= 2) {
-            throw new IllegalArgumentException("At least 3 players required");
+        Interruption.check();   // A job cancelled while reading the entrants stops here
+
+        BracketFormat format = initializationRequest.format() != null ? initializationRequest.format()
+                : BracketFormat.SINGLE_ELIMINATION;
+        return bracketInitializerFactory.getInitializer(format).initializeBracket(players, assignmentType);
+    }
+
+    /**
+     * Loads an uploaded bracket export, reading at most {@link BracketCodec#MAX_EXPORT_BYTES} of it before decoding
+     * @param contentLength declared size of the upload, -1 if unknown
+     * @return the id of the loaded bracket
+     * @throws BracketFileTooLargeException if the upload is larger than any bracket export loaded here
+     * @throws IllegalArgumentException if the file isn't a valid bracket export
+     */
+    public long importBracket(InputStream body, long contentLength) throws IOException {
+        if (contentLength > BracketCodec.MAX_EXPORT_BYTES) {
+            throw new BracketFileTooLargeException("Bracket files are limited to " + BracketCodec.MAX_EXPORT_BYTES + " bytes");
         }
+        byte[] file = body.readNBytes(BracketCodec.MAX_EXPORT_BYTES + 1);     // A declared length can't be trusted
+        if (file.length > BracketCodec.MAX_EXPORT_BYTES) {
+            throw new BracketFileTooLargeException("Bracket files are limited to " + BracketCodec.MAX_EXPORT_BYTES + " bytes");
+        }
+        return importBracket(ByteBuffer.wrap(file));
+    }
 
-        // Convert DTOs to domain objects
-        List<Player> players = playerResponses.stream()
-                .map(response -> Player.builder()
-                        .id(response.id())
-                        .nickname(response.nickname())
-                        .rating(response.rating())
-                        .build())
-                .collect(Collectors.toList());
+    /**
+     * Loads a bracket exported by {@link #exportBracket(long)}, possibly on another machine, with its results.
+     * It gets a new id and becomes the current bracket. Its players are the ones in the file; after a restart
+     * they are read from the local roster by id, so move the roster along (player export and bulk import).
+     * @param file the exported bytes, decoded in place
+     * @return the id of the loaded bracket
+     * @throws IllegalArgumentException if the file isn't a valid bracket export
+     */
+    public long importBracket(ByteBuffer file) {
+        Bracket bracket = bracketCodec.importBracket(file);
+        bracket.setVersion(bracket.getVersion() - 1);  // Publishing brings back the exported version
+        return registerBracket(bracket);
+    }
 
-        Bracket bracket = bracketInitializer.initializeBracket(players, assignmentType);
+    /**
+     * Binary export of a bracket with its players and results, much smaller and faster to load than its JSON.
+     * Encoding waits for an in-flight result at most, readers are not blocked.
+     * @throws BracketNotFoundException if there is no bracket with this id
+     */
+    public byte[] exportBracket(long bracketId) {
+        Bracket bracket = getBracketForUpdate(bracketId);
+        StampedLock lock = bracket.getLock();
+        long stamp = lock.readLock();
+        try {
+            return bracketCodec.exportBracket(bracket);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
 
-        bracketHolder.storeBracket(bracket);
+    /**
+     * Publishes the bracket, persists and journals it, then stores it as the current one
+     * @return the id of the bracket
+     */
+    long registerBracket(Bracket bracket) {
+        // Readers only ever see published snapshots, so publish before the bracket becomes reachable
+        bracket.setId(bracketRegistry.nextId());
+        bracketOperator.publishSnapshot(bracket);
+
+        // Only reachable once its INITIALIZE is durable, so no result can be journaled ahead of it
+        bracketWriteBehind.store(bracket);
+        matchJournal.awaitDurable(matchJournal.append(JournalEntry.of(JournalOperation.INITIALIZE, bracket)));
+        return bracketRegistry.storeBracket(bracket);
     }
 
 
     /**
-     * Get the bracket stored in memory
+     * Get the last published snapshot of the current bracket, no locking involved
      * @return the dto BracketResponse with the current bracket
      */
     public BracketResponse getCurrentBracket() {
-        return BracketResponse.fromEntity(bracketHolder.getCurrentBracket());
+        return BracketResponse.fromEntity(bracketRegistry.getCurrentBracket());
     }
 
+    /**
+     * Get the last published snapshot of a bracket by its id, no locking involved
+     * @return the dto BracketResponse with the bracket
+     * @throws BracketNotFoundException if there is no bracket with this id
+     */
+    public BracketResponse getBracket(long bracketId) {
+        return BracketResponse.fromEntity(getBracketForUpdate(bracketId));
+    }
 
+    /**
+     * Get the live current bracket, callers must hold its write lock while changing it
+     * @return the current bracket or null if none was initialized
+     */
+    public Bracket getCurrentBracketForUpdate() {
+        return bracketRegistry.getCurrentBracket();
+    }
 
+    /**
+     * Get a live bracket by its id, callers must hold its write lock while changing it
+     * @throws BracketNotFoundException if there is no bracket with this id
+     */
+    public Bracket getBracketForUpdate(long bracketId) {
+        return bracketRegistry.getBracket(bracketId)
+                .orElseThrow(() -> new BracketNotFoundException("There is no bracket with id " + bracketId));
+    }
 
+    /**
+     * Remove a finished tournament from memory
+     * @throws BracketNotFoundException if there is no bracket with this id
+     */
+    public void deleteBracket(long bracketId) {
+        Bracket bracket = getBracketForUpdate(bracketId);
+
+        long journalPosition;
+        StampedLock lock = bracket.getLock();
+        long stamp = lock.writeLock();     // No result can be applied, stored or journaled in between
+        try {
+            if (bracket.isDeleted() || !bracketRegistry.removeBracket(bracketId)) {
+                throw new BracketNotFoundException("There is no bracket with id " + bracketId);
+            }
+            bracket.setDeleted(true);
+            bracketWriteBehind.markDeleted(bracketId);
+            journalPosition = matchJournal.append(
+                    new JournalEntry(JournalOperation.DELETE, bracketId, 0, 0, 0, System.currentTimeMillis()));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        matchJournal.awaitDurable(journalPosition);
+    }
 
-
-}
\ No newline at end of file
+}
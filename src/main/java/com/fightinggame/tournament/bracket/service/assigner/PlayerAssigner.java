@@ -2,42 +2,93 @@ package com.fightinggame.tournament.bracket.service.assigner;
 
 import com.fightinggame.tournament.bracket.model.Bracket;
 import com.fightinggame.tournament.shared.MatchOperator;
+import com.fightinggame.tournament.shared.Interruption;
 import com.fightinggame.tournament.shared.TournamentMathUtils;
 import com.fightinggame.tournament.match.model.Match;
 import com.fightinggame.tournament.player.model.Player;
 import lombok.AllArgsConstructor;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 @AllArgsConstructor
 public abstract class PlayerAssigner {
 
+    // Larger fields are assigned in parallel
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    // Players assigned by a single task
+    private static final int PLAYERS_PER_TASK = 1 << 14;
+
     private final MatchOperator bracketOperator;
     private final TournamentMathUtils mathUtils;
 
     /**
-     * Method that assigns players to the first-round matches (leaf nodes).
+     * Method that assigns players to the first-round matches (leaf nodes),
+     * in parallel for more than {@value #PARALLEL_THRESHOLD} players.
      */
     public void assignmentExecution(Bracket bracket, List<Player> players) {
+        assignmentExecution(bracket, players, players.size() > PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Assigns the players in order: the first one to each leaf is player 1, the rest are player 2.
+     * The seed order is a permutation, so every player goes to a different slot and the parallel mode splits
+     * the players in ranges on the common fork/join pool with the same result.
+     */
+    public void assignmentExecution(Bracket bracket, List<Player> players, boolean parallel) {
 
-        Deque<Player> playerDeque = new ArrayDeque<>(players);
         List<Match> leaves = bracketOperator.getLeaves(bracket);
+        Player[] seeded = players.toArray(Player[]::new);
 
-        // Get indexes to distribute players in a balanced way through the bracket
-        List<Integer> playerOrder = mathUtils.calculateIndexesToPlayerInsertionOrder(leaves.size());
+        // Get indexes to distribute players in a balanced way through the bracket (cached per bracket size)
+        int[] playerOrder = mathUtils.calculateSeedOrder(leaves.size());
+        int count = Math.min(seeded.length, 2 * leaves.size());
 
-        // Distribute Players 1
-        for (int i : playerOrder) {
-            leaves.get(i).setPlayer1(playerDeque.pop());
+        if (parallel) {
+            ForkJoinPool.commonPool().invoke(new AssignTask(leaves, playerOrder, seeded, 0, count, Thread.currentThread()));
+        } else {
+            assignRange(leaves, playerOrder, seeded, 0, count);
         }
+    }
 
-        // Distribute Players 2
-        for (int i : playerOrder) {
-            if (playerDeque.isEmpty()) break;
-            else leaves.get(i).setPlayer2(playerDeque.pop());
+    private static void assignRange(List<Match> leaves, int[] playerOrder, Player[] players, int from, int to) {
+        int numLeaves = leaves.size();
+        for (int i = from; i < to; i++) {
+            if (i < numLeaves) leaves.get(playerOrder[i]).setPlayer1(players[i]);     // Distribute Players 1
+            else leaves.get(playerOrder[i - numLeaves]).setPlayer2(players[i]);        // Distribute Players 2
         }
+    }
+
+    private static class AssignTask extends RecursiveAction {
+
+        private final List<Match> leaves;
+        private final int[] playerOrder;
+        private final Player[] players;
+        private final int from;
+        private final int to;
+        private final Thread requester;
 
+        private AssignTask(List<Match> leaves, int[] playerOrder, Player[] players, int from, int to, Thread requester) {
+            this.leaves = leaves;
+            this.playerOrder = playerOrder;
+            this.players = players;
+            this.from = from;
+            this.to = to;
+            this.requester = requester;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PLAYERS_PER_TASK) {
+                Interruption.check(requester);
+                assignRange(leaves, playerOrder, players, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new AssignTask(leaves, playerOrder, players, from, middle, requester),
+                    new AssignTask(leaves, playerOrder, players, middle, to, requester));
+        }
     }
 }
@@ -0,0 +1,137 @@
+package com.fightinggame.tournament.bracket.service.generator;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.match.model.Match;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates an empty double elimination bracket: a winners bracket (the same tree as single elimination),
+ * a losers bracket, the grand finals and the grand finals reset, which is the root match.
+ *
+ * <p>The losers bracket alternates two kinds of rounds: minor rounds, where losers bracket survivors play each other
+ * (the first one pairs the losers of the first winners round), and drop rounds, where each survivor faces a player
+ * dropping from the next winners round. The match each winners loser drops to is precomputed in the drop table,
+ * so routing a loser is an array lookup.
+ */
+@Component
+public class DoubleEliminationGenerator implements BracketGenerator {
+
+    private final SingleEliminationGenerator winnersGenerator;
+
+
+    public DoubleEliminationGenerator(SingleEliminationGenerator winnersGenerator) {
+        this.winnersGenerator = winnersGenerator;
+    }
+
+
+    /**
+     * Create an empty bracket which every player can occupy a leaf node of the winners bracket
+     * */
+    public Bracket generate(int numPlayers) {
+
+        Bracket bracket = winnersGenerator.generate(numPlayers);
+        Match[] winnersMatches = bracket.getMatches();
+        int numOfSpaces = winnersMatches.length;
+        int winnersRounds = Integer.numberOfTrailingZeros(numOfSpaces);
+        int losersRounds = 2 * (winnersRounds - 1);
+
+        // A losers bracket with a match less than the winners one, then grand finals and reset
+        Match[] losersMatches = new Match[numOfSpaces];
+        int[] roundStart = populateLosersRounds(losersMatches, numOfSpaces, losersRounds);
+
+        Match grandFinal = newMatch(losersMatches, numOfSpaces - 2, numOfSpaces);
+        Match reset = newMatch(losersMatches, numOfSpaces - 1, numOfSpaces);
+        link(grandFinal, winnersMatches[1], true);
+        if (losersRounds > 0) {
+            link(grandFinal, losersMatches[roundStart[losersRounds - 1]], false);
+        }
+        link(reset, grandFinal, true);
+
+        bracket.setLosersMatches(losersMatches);
+        bracket.setDropTable(buildDropTable(winnersMatches, roundStart, losersRounds, grandFinal));
+        bracket.setRootMatch(reset);
+
+        return bracket;
+    }
+
+
+    /**
+     * Create the losers bracket round by round (1-based rounds), linking each match to the losers matches feeding it.
+     * Minor rounds (odd) and the following drop round (even) have the same size, halving every two rounds.
+     * @return the index of the first match of each round
+     */
+    private int[] populateLosersRounds(Match[] losersMatches, int numOfSpaces, int losersRounds) {
+
+        int[] roundStart = new int[losersRounds];
+        int index = 0;
+
+        for (int round = 1; round <= losersRounds; round++) {
+            int roundSize = numOfSpaces >>> ((round + 1) / 2 + 1);
+            roundStart[round - 1] = index;
+
+            for (int position = 0; position < roundSize; position++, index++) {
+                Match match = newMatch(losersMatches, index, numOfSpaces);
+
+                if (round == 1) continue;   // Both players drop from the first winners round
+                int previousStart = roundStart[round - 2];
+                if ((round & 1) == 0) {
+                    // Drop round: the survivor of the same position, the other player drops from the winners side
+                    link(match, losersMatches[previousStart + position], true);
+                } else {
+                    link(match, losersMatches[previousStart + 2 * position], true);
+                    link(match, losersMatches[previousStart + 2 * position + 1], false);
+                }
+            }
+        }
+        return roundStart;
+    }
+
+
+    /**
+     * Losers of the first winners round pair up in the first losers round, losers of winners round r drop into
+     * losers round 2(r-1). The order is reversed every other round, so players don't meet again right away.
+     * The winners final has no drop round when the bracket only has two spaces, its loser goes to the grand finals.
+     */
+    private int[] buildDropTable(Match[] winnersMatches, int[] roundStart, int losersRounds, Match grandFinal) {
+
+        int numOfSpaces = winnersMatches.length;
+        int[] dropTable = new int[numOfSpaces];
+
+        if (losersRounds == 0) {
+            dropTable[winnersMatches[1].getReferenceValue()] = grandFinal.getReferenceValue();
+            return dropTable;
+        }
+
+        int leavesStart = numOfSpaces >>> 1;
+        for (int index = leavesStart; index < numOfSpaces; index++) {
+            int position = index - leavesStart;
+            dropTable[winnersMatches[index].getReferenceValue()] = numOfSpaces + roundStart[0] + (position >>> 1);
+        }
+
+        for (int winnersRound = 2; (numOfSpaces >>> winnersRound) > 0; winnersRound++) {
+            int roundSize = numOfSpaces >>> winnersRound;           // Heap layer of this round starts at its size
+            int dropRoundStart = roundStart[2 * (winnersRound - 1) - 1];
+            boolean reversed = (winnersRound & 1) == 0;
+
+            for (int position = 0; position < roundSize; position++) {
+                int dropPosition = reversed ? roundSize - 1 - position : position;
+                dropTable[winnersMatches[roundSize + position].getReferenceValue()] = numOfSpaces + dropRoundStart + dropPosition;
+            }
+        }
+        return dropTable;
+    }
+
+    private Match newMatch(Match[] losersMatches, int index, int numOfSpaces) {
+        Match match = new Match();
+        match.setReferenceValue(numOfSpaces + index);
+        losersMatches[index] = match;
+        return match;
+    }
+
+    private void link(Match parent, Match child, boolean left) {
+        child.setParentMatch(parent);
+        if (left) parent.setLeftMatch(child);
+        else parent.setRightMatch(child);
+    }
+
+}
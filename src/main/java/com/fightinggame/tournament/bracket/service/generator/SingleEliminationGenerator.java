@@ -3,8 +3,12 @@ package com.fightinggame.tournament.bracket.service.generator;
 import com.fightinggame.tournament.bracket.model.Bracket;
 import com.fightinggame.tournament.match.model.Match;
 import com.fightinggame.tournament.shared.TournamentMathUtils;
+import com.fightinggame.tournament.shared.Interruption;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Creates an empty single elimination bracket
  * The purpose is to have a base structure before committing to any kind of iteration
@@ -12,6 +16,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class SingleEliminationGenerator implements BracketGenerator {
 
+    // Brackets with more spaces are built in parallel
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    // Subtrees with this many levels or less are built by a single task (16383 matches)
+    private static final int LEVELS_PER_TASK = 14;
+
     private final TournamentMathUtils mathUtils;
 
 
@@ -21,62 +31,111 @@ public class SingleEliminationGenerator implements BracketGenerator {
 
 
     /**
-     * Create an empty bracket which every player can occupy a leaf node (initial matches)
+     * Create an empty bracket which every player can occupy a leaf node (initial matches),
+     * in parallel for brackets larger than {@value #PARALLEL_THRESHOLD} spaces
      * */
     public Bracket generate(int numPlayers) {
+        return generate(numPlayers, numPlayers > PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Create an empty bracket, the parallel mode builds independent subtrees on the common fork/join pool.
+     * Both modes build the same bracket.
+     * */
+    public Bracket generate(int numPlayers, boolean parallel) {
 
         if (numPlayers < 2) {
             throw new IllegalArgumentException("It's not possible to generate a bracket with less than 2 players");
         }
 
         int numOfSpaces = mathUtils.nextPowerOfTwo(numPlayers);
-
-        Match root = new Match();           // Initialize the root node
-        root.setReferenceValue(numOfSpaces/2);
+        int levels = mathUtils.calculateDepth(numOfSpaces);
 
         Bracket bracket = new Bracket();    // Initialize the bracket
-        bracket.setRootMatch(root);
-
-        int depth = mathUtils.calculateDepth(numOfSpaces) - 1;  // Minus one because the root was already initialized
-        populateMatches(bracket.getRootMatch(), depth);         // Fill the bracket with match nodes
+        bracket.initializeIndex(numOfSpaces);
 
-        if (numOfSpaces > 2) {
-            setMatchReferenceValues(root, numOfSpaces/2, numOfSpaces/4);
+        // Fill the bracket with match nodes, layer by layer
+        if (parallel) {
+            ForkJoinPool.commonPool().invoke(new SubtreeTask(bracket.getMatches(), 1, levels, Thread.currentThread()));
+        } else {
+            populateSubtree(bracket.getMatches(), 1, levels);
         }
+        bracket.setRootMatch(bracket.getMatches()[1]);
 
         return bracket;
     }
 
 
     /**
-     * Given the expected height of the bracket keep adding a new layer of empty nodes
-     * */
-    private void populateMatches(Match current, int depthRemaining) {
-        if (depthRemaining == 0) return;    // End the recursion
+     * Build a subtree directly in heap order without recursion, layer by layer: the descendants of the match at
+     * index i in the k-th layer below it are the indexes from i * 2^k to (i + 1) * 2^k - 1.
+     */
+    private void populateSubtree(Match[] matches, int rootIndex, int levels) {
+
+        int rootDepth = depthOf(rootIndex);
+        for (int depth = rootDepth; depth < levels; depth++) {
+            int shift = depth - rootDepth;
+            for (int index = rootIndex << shift; index < (rootIndex + 1) << shift; index++) {
+                createMatch(matches, index, depth, levels);
+            }
+        }
+    }
+
+    /**
+     * The match at index i is linked to its next match at i/2, which must already exist.
+     * Reference values are the in-order positions of the perfect tree, computed with bit arithmetic from the
+     * layer of the match (depth) and its position in that layer: (2 * position + 1) * 2^height.
+     */
+    private void createMatch(Match[] matches, int index, int depth, int levels) {
+
+        int height = levels - 1 - depth;    // Leaves have height zero
+        int position = index - (1 << depth);
 
-        current.setLeftMatch(new Match());
-        current.setRightMatch(new Match());
+        Match match = new Match();
+        match.setReferenceValue(((position << 1) | 1) << height);
+        matches[index] = match;
 
-        populateMatches(current.getLeftMatch(), depthRemaining-1);
-        populateMatches(current.getRightMatch(), depthRemaining-1);
+        if (index > 1) {
+            Match parent = matches[index >>> 1];
+            match.setParentMatch(parent);
+            if ((index & 1) == 0) parent.setLeftMatch(match);
+            else parent.setRightMatch(match);
+        }
     }
 
+    private static int depthOf(int index) {
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(index);
+    }
 
     /**
-     * Set reference values to the nodes/match of the tree/bracket. Useful for optimal search in a balanced tree.
+     * Creates the root of a subtree, then both halves at the same time. The two halves only write
+     * their own slots and a different child link of the shared parent.
      */
-    private void setMatchReferenceValues (Match match, int pastValue, int pastHalf) {
-
-        Match left = match.getLeftMatch();
-        Match right = match.getRightMatch();
-
-        left.setReferenceValue(pastValue - pastHalf);
-        right.setReferenceValue(pastValue + pastHalf);
+    private class SubtreeTask extends RecursiveAction {
+
+        private final Match[] matches;
+        private final int rootIndex;
+        private final int levels;
+        private final Thread requester;
+
+        private SubtreeTask(Match[] matches, int rootIndex, int levels, Thread requester) {
+            this.matches = matches;
+            this.rootIndex = rootIndex;
+            this.levels = levels;
+            this.requester = requester;
+        }
 
-        if (pastHalf == 1) return;
-        else {
-            setMatchReferenceValues(left, left.getReferenceValue(), pastHalf/2);
-            setMatchReferenceValues(right, right.getReferenceValue(), pastHalf/2);
+        @Override
+        protected void compute() {
+            int depth = depthOf(rootIndex);
+            if (levels - depth <= LEVELS_PER_TASK) {
+                Interruption.check(requester);
+                populateSubtree(matches, rootIndex, levels);
+                return;
+            }
+            createMatch(matches, rootIndex, depth, levels);
+            invokeAll(new SubtreeTask(matches, 2 * rootIndex, levels, requester),
+                    new SubtreeTask(matches, 2 * rootIndex + 1, levels, requester));
         }
     }
 
@@ -1,6 +1,7 @@
 package com.fightinggame.tournament.bracket.service.initializer;
 
 import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.BracketFormat;
 import com.fightinggame.tournament.bracket.service.assigner.AssignmentType;
 import com.fightinggame.tournament.player.model.Player;
 
@@ -9,4 +10,6 @@ import java.util.List;
 public interface BracketInitializer {
 
     Bracket initializeBracket(List<Player> players, AssignmentType assignmentType);
+
+    boolean supports(BracketFormat format);
 }
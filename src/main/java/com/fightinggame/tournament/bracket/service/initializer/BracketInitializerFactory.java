@@ -0,0 +1,29 @@
+package com.fightinggame.tournament.bracket.service.initializer;
+
+import com.fightinggame.tournament.bracket.model.BracketFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ *  Factory that provides the bracket initializer of the format chosen for the tournament.
+ */
+@Component
+public class BracketInitializerFactory {
+
+    private final List<BracketInitializer> initializers;  // Spring injects ALL implementations of the initializer
+
+    @Autowired
+    public BracketInitializerFactory(List<BracketInitializer> initializers) {
+        this.initializers = initializers;
+    }
+
+    public BracketInitializer getInitializer(BracketFormat format) {
+        return initializers.stream()
+                .filter(i -> i.supports(format))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No initializer found for format: " + format));
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.fightinggame.tournament.bracket.service.initializer;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.BracketFormat;
+import com.fightinggame.tournament.bracket.service.assigner.AssignmentStrategy;
+import com.fightinggame.tournament.bracket.service.assigner.AssignmentStrategyFactory;
+import com.fightinggame.tournament.bracket.service.assigner.AssignmentType;
+import com.fightinggame.tournament.bracket.service.generator.DoubleEliminationGenerator;
+import com.fightinggame.tournament.bracket.service.util.ByeMatchSimplifier;
+import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.shared.Interruption;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates double-elimination brackets with player assignments and bye match handling,
+ * byes are removed from both the winners and the losers bracket.
+ */
+@AllArgsConstructor
+@Component
+public class DoubleBracketInitializer implements BracketInitializer {
+
+    private final DoubleEliminationGenerator bracketGenerator;
+    private final ByeMatchSimplifier byeMatchSimplifier;
+
+    // Strategy factory pattern to handle the type of player assignment chosen by the user
+    private final AssignmentStrategyFactory assignmentStrategyFactory;
+
+    /**
+     * Generates complete bracket with players assigned using specified strategy.
+     * @param players Players to include in bracket
+     * @param assignmentType Player distribution strategy (RANDOM/SKILL_BASED)
+     * @return Ready-to-use tournament bracket, its root is the grand finals reset
+     */
+    @Override
+    public Bracket initializeBracket(List<Player> players, AssignmentType assignmentType) {
+
+        Bracket bracket = bracketGenerator.generate(players.size());
+        Interruption.check();   // A cancelled job stops between phases
+
+        AssignmentStrategy assigner = assignmentStrategyFactory.getStrategy(assignmentType);
+        assigner.assignPlayers(bracket, players);
+        Interruption.check();
+
+        byeMatchSimplifier.simplify(bracket);
+
+        return bracket;
+    }
+
+    @Override
+    public boolean supports(BracketFormat format) {
+        return format == BracketFormat.DOUBLE_ELIMINATION;
+    }
+}
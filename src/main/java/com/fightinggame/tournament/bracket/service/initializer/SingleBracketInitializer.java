@@ -1,13 +1,15 @@
 package com.fightinggame.tournament.bracket.service.initializer;
 
 import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.BracketFormat;
 import com.fightinggame.tournament.bracket.service.assigner.AssignmentStrategy;
 import com.fightinggame.tournament.bracket.service.assigner.AssignmentStrategyFactory;
 import com.fightinggame.tournament.bracket.service.assigner.AssignmentType;
-import com.fightinggame.tournament.bracket.service.generator.BracketGenerator;
+import com.fightinggame.tournament.bracket.service.generator.SingleEliminationGenerator;
 import com.fightinggame.tournament.bracket.service.util.ByeMatchSimplifier;
 import com.fightinggame.tournament.player.dto.PlayerResponse;
 import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.shared.Interruption;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -21,7 +23,7 @@ import java.util.stream.Collectors;
 @Component
 public class SingleBracketInitializer implements BracketInitializer {
 
-    private final BracketGenerator bracketGenerator;
+    private final SingleEliminationGenerator bracketGenerator;
     private final ByeMatchSimplifier byeMatchSimplifier;
 
     // Strategy factory pattern to handle the type of player assignment chosen by the user
@@ -37,12 +39,19 @@ public class SingleBracketInitializer implements BracketInitializer {
     public Bracket initializeBracket(List<Player> players, AssignmentType assignmentType) {
 
         Bracket bracket = bracketGenerator.generate(players.size());
+        Interruption.check();   // A cancelled job stops between phases
 
         AssignmentStrategy assigner = assignmentStrategyFactory.getStrategy(assignmentType);
         assigner.assignPlayers(bracket, players);
+        Interruption.check();
 
         byeMatchSimplifier.simplify(bracket);
 
         return bracket;
     }
+
+    @Override
+    public boolean supports(BracketFormat format) {
+        return format == BracketFormat.SINGLE_ELIMINATION;
+    }
 }
@@ -0,0 +1,370 @@
+package com.fightinggame.tournament.bracket.service.util;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.BracketFormat;
+import com.fightinggame.tournament.bracket.model.BracketRecord;
+import com.fightinggame.tournament.match.model.Match;
+import com.fightinggame.tournament.player.model.Player;
+import org.springframework.stereotype.Component;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+/**
+ * Packs a bracket into a compact binary state and back, both for storage and for moving a bracket between machines.
+ *
+ * <p>Slots (big endian ints), shared by both:
+ * <pre>
+ * winners   heap slots 1 to numOfSpaces-1: player1, player2, winner
+ * losers    double elimination only, slots 0 to numOfSpaces-1: player1, player2, winner, leftMatch, rightMatch
+ * drops     double elimination only, the drop table (numOfSpaces ints)
+ * </pre>
+ * Matches reference players by their position in a player table written before the slots. A missing player is -1
+ * and a pruned match has -2 as player1. Winners bracket pruning only removes subtrees, so its links follow from
+ * the heap slots; the losers bracket skips matches, so its children are stored as reference values (0 for none).
+ *
+ * <p>The stored state only has the player ids (count, then one long each), the players come from the database.
+ * The export file is self-contained: a header (magic, file version as a short, format code as a byte, one unused
+ * byte, numOfSpaces, bracket version as a long) and the whole players (count, then id, rating, nickname length as
+ * an unsigned short and its UTF-8 bytes), so it loads on a machine that doesn't have them.
+ */
+@Component
+public class BracketCodec {
+
+    public static final int EXPORT_MAGIC = 0x46544252;     // "FTBR"
+    public static final short EXPORT_VERSION = 1;
+
+    // Largest export file loaded, enough for a double elimination bracket of 2^20 spaces
+    public static final int MAX_EXPORT_BYTES = 64 << 20;
+
+    // Larger than any supported field, bounds what a corrupt file can make us allocate
+    private static final int MAX_SPACES = 1 << 24;
+
+    // Longest nickname an exported file can hold, in UTF-8 bytes
+    private static final int MAX_NICKNAME_BYTES = 0xFFFF;
+
+    private static final int NONE = -1;
+    private static final int ABSENT = -2;
+
+    /**
+     * Callers must keep writers out (the bracket read lock) while encoding
+     */
+    public BracketRecord encode(Bracket bracket) {
+
+        List<Player> players = new ArrayList<>();
+        int[] slots = encodeSlots(bracket, players);
+
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + Long.BYTES * players.size() + Integer.BYTES * slots.length);
+        buffer.putInt(players.size());
+        for (Player player : players) buffer.putLong(player.getId());
+        buffer.asIntBuffer().put(slots);
+
+        return new BracketRecord(bracket.getId(), bracket.getFormat(), bracket.getMatches().length, bracket.getVersion(),
+                buffer.array());
+    }
+
+    /**
+     * Ids of every player referenced by the stored bracket
+     */
+    public long[] playerIds(BracketRecord record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record.getState());
+        long[] playerIds = new long[buffer.getInt()];
+        for (int i = 0; i < playerIds.length; i++) playerIds[i] = buffer.getLong();
+        return playerIds;
+    }
+
+    /**
+     * Rebuilds the live bracket with its heap index. Nothing is published, the version is the stored one.
+     * @param players resolves a stored player id, every match shares the same instance per player
+     */
+    public Bracket decode(BracketRecord record, LongFunction<Player> players) {
+
+        ByteBuffer buffer = ByteBuffer.wrap(record.getState());
+        Player[] playerTable = new Player[buffer.getInt()];
+        for (int i = 0; i < playerTable.length; i++) playerTable[i] = players.apply(buffer.getLong());
+
+        Bracket bracket = new Bracket();
+        bracket.setId(record.getId());
+        bracket.setVersion(record.getVersion());
+        decodeSlots(buffer, playerTable, bracket, record.getNumOfSpaces(),
+                record.getFormat() == BracketFormat.DOUBLE_ELIMINATION);
+        return bracket;
+    }
+
+    /**
+     * Self-contained binary file of the bracket, callers must keep writers out (the bracket read lock)
+     */
+    public byte[] exportBracket(Bracket bracket) {
+
+        List<Player> players = new ArrayList<>();
+        int[] slots = encodeSlots(bracket, players);
+
+        byte[][] nicknames = new byte[players.size()][];
+        int playersSize = Integer.BYTES;
+        for (int i = 0; i < nicknames.length; i++) {
+            String nickname = players.get(i).getNickname();
+            nicknames[i] = nickname != null ? nickname.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            if (nicknames[i].length > MAX_NICKNAME_BYTES) {
+                throw new IllegalArgumentException("Nickname of player " + players.get(i).getId() + " is too long to export");
+            }
+            playersSize += Long.BYTES + Integer.BYTES + Short.BYTES + nicknames[i].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES + Short.BYTES + 2 + Long.BYTES + playersSize
+                + Integer.BYTES * slots.length);
+        buffer.putInt(EXPORT_MAGIC)
+                .putShort(EXPORT_VERSION)
+                .put(bracket.getFormat().getCode())
+                .put((byte) 0)
+                .putInt(bracket.getMatches().length)
+                .putLong(bracket.getVersion());
+
+        buffer.putInt(players.size());
+        for (int i = 0; i < nicknames.length; i++) {
+            buffer.putLong(players.get(i).getId())
+                    .putInt(players.get(i).getRating())
+                    .putShort((short) nicknames[i].length)     // Read back as unsigned
+                    .put(nicknames[i]);
+        }
+        buffer.asIntBuffer().put(slots);
+        return buffer.array();
+    }
+
+    /**
+     * Rebuilds a bracket from an exported file, reading straight from the buffer (heap or direct).
+     * The players are the ones in the file and the id is left for the caller to assign.
+     * @throws IllegalArgumentException if it isn't a bracket file, its version is unknown or it is corrupt
+     */
+    public Bracket importBracket(ByteBuffer buffer) {
+
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        try {
+            if (buffer.getInt() != EXPORT_MAGIC) {
+                throw new IllegalArgumentException("Not a bracket file");
+            }
+            short fileVersion = buffer.getShort();
+            if (fileVersion != EXPORT_VERSION) {
+                throw new IllegalArgumentException("Unsupported bracket file version " + fileVersion);
+            }
+            byte formatCode = buffer.get();
+            buffer.get();
+            int numOfSpaces = buffer.getInt();
+            long version = buffer.getLong();
+            BracketFormat format = BracketFormat.fromCode(formatCode);
+            if (format == null) {
+                throw new IllegalArgumentException("Unknown bracket format " + formatCode);
+            }
+            if (numOfSpaces < 2 || numOfSpaces > MAX_SPACES || Integer.bitCount(numOfSpaces) != 1) {
+                throw new IllegalArgumentException("Invalid number of spaces " + numOfSpaces);
+            }
+            boolean doubleElimination = format == BracketFormat.DOUBLE_ELIMINATION;
+
+            int playerCount = buffer.getInt();
+            if (playerCount < 0 || playerCount > numOfSpaces) {
+                throw new IllegalArgumentException("Invalid number of players " + playerCount);
+            }
+            Player[] playerTable = new Player[playerCount];
+            for (int i = 0; i < playerCount; i++) {
+                long id = buffer.getLong();
+                int rating = buffer.getInt();
+                byte[] nickname = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(nickname);
+                playerTable[i] = new Player(id, new String(nickname, StandardCharsets.UTF_8), rating);
+            }
+
+            long slotBytes = (long) Integer.BYTES * slotCount(numOfSpaces, doubleElimination);
+            if (buffer.remaining() != slotBytes) {
+                throw new IllegalArgumentException("Bracket file has " + buffer.remaining() + " bytes of slots, expected "
+                        + slotBytes);
+            }
+
+            Bracket bracket = new Bracket();
+            bracket.setVersion(version);
+            decodeSlots(buffer, playerTable, bracket, numOfSpaces, doubleElimination);
+            return bracket;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Corrupt bracket file", e);
+        }
+    }
+
+    /**
+     * Slot ints of the bracket, collecting every player it references in table order
+     */
+    private int[] encodeSlots(Bracket bracket, List<Player> players) {
+
+        Match[] matches = bracket.getMatches();
+        Match[] losersMatches = bracket.getLosersMatches();
+        int numOfSpaces = matches.length;
+        boolean doubleElimination = bracket.isDoubleElimination();
+
+        Map<Long, Integer> playerIndex = new HashMap<>();
+        int[] slots = new int[slotCount(numOfSpaces, doubleElimination)];
+        for (int heapIndex = 1; heapIndex < numOfSpaces; heapIndex++) {
+            writePlayers(matches[heapIndex], slots, 3 * (heapIndex - 1), playerIndex, players);
+        }
+
+        if (doubleElimination) {
+            int offset = 3 * (numOfSpaces - 1);
+            for (int index = 0; index < numOfSpaces; index++) {
+                Match match = losersMatches[index];
+                writePlayers(match, slots, offset + 5 * index, playerIndex, players);
+                slots[offset + 5 * index + 3] = referenceOf(match != null ? match.getLeftMatch() : null);
+                slots[offset + 5 * index + 4] = referenceOf(match != null ? match.getRightMatch() : null);
+            }
+            System.arraycopy(bracket.getDropTable(), 0, slots, offset + 5 * numOfSpaces, numOfSpaces);
+        }
+        return slots;
+    }
+
+    private int slotCount(int numOfSpaces, boolean doubleElimination) {
+        return 3 * (numOfSpaces - 1) + (doubleElimination ? 6 * numOfSpaces : 0);
+    }
+
+    /**
+     * Every reference is checked while decoding, so a corrupt or crafted state can't leave a player index outside
+     * the table, a match without its next match or a losers bracket that isn't a tree
+     * @throws IllegalArgumentException at the first invalid reference
+     */
+    private void decodeSlots(ByteBuffer buffer, Player[] playerTable, Bracket bracket, int numOfSpaces,
+                             boolean doubleElimination) {
+
+        bracket.initializeIndex(numOfSpaces);
+        Match[] matches = bracket.getMatches();
+        for (int heapIndex = 1; heapIndex < numOfSpaces; heapIndex++) {
+            matches[heapIndex] = readMatch(buffer, playerTable, bracket.referenceValueOf(heapIndex));
+            if (matches[heapIndex] != null && heapIndex > 1 && matches[heapIndex >>> 1] == null) {
+                throw new IllegalArgumentException("Match " + matches[heapIndex].getReferenceValue() + " has no next match");
+            }
+        }
+        if (matches[1] == null) {
+            throw new IllegalArgumentException("Bracket has no final");
+        }
+        for (int heapIndex = 1; heapIndex < numOfSpaces / 2; heapIndex++) {
+            if (matches[heapIndex] == null) continue;
+            link(matches[heapIndex], matches[2 * heapIndex], matches[2 * heapIndex + 1]);
+        }
+
+        if (!doubleElimination) {
+            bracket.setRootMatch(matches[1]);
+            return;
+        }
+
+        // Children are earlier losers matches (the generator lays them out round by round) or the winners final,
+        // each one feeding a single match, so the losers bracket can't have cycles
+        Match[] losersMatches = new Match[numOfSpaces];
+        boolean[] linked = new boolean[numOfSpaces + 1];    // Losers indexes, then the winners final
+        for (int index = 0; index < numOfSpaces; index++) {
+            losersMatches[index] = readMatch(buffer, playerTable, numOfSpaces + index);
+            int left = buffer.getInt();
+            int right = buffer.getInt();
+            if (losersMatches[index] == null) {
+                if (left != 0 || right != 0) {
+                    throw new IllegalArgumentException("Pruned match " + (numOfSpaces + index) + " has children");
+                }
+                continue;
+            }
+            link(losersMatches[index], losersChild(matches, losersMatches, linked, index, left),
+                    losersChild(matches, losersMatches, linked, index, right));
+        }
+        if (losersMatches[numOfSpaces - 2] == null || losersMatches[numOfSpaces - 1] == null) {
+            throw new IllegalArgumentException("Bracket has no grand finals");
+        }
+        bracket.setLosersMatches(losersMatches);
+
+        int[] dropTable = new int[numOfSpaces];
+        for (int i = 0; i < numOfSpaces; i++) {
+            dropTable[i] = buffer.getInt();
+            if (dropTable[i] != 0 && (dropTable[i] < numOfSpaces || dropTable[i] >= 2 * numOfSpaces)) {
+                throw new IllegalArgumentException("Match " + i + " drops into unknown match " + dropTable[i]);
+            }
+        }
+        bracket.setDropTable(dropTable);
+        bracket.setRootMatch(losersMatches[numOfSpaces - 1]);     // The reset
+    }
+
+    private Match losersChild(Match[] matches, Match[] losersMatches, boolean[] linked, int index, int referenceValue) {
+        if (referenceValue == 0) return null;
+
+        int numOfSpaces = matches.length;
+        int linkedIndex;
+        Match child;
+        if (referenceValue == numOfSpaces >>> 1) {     // The winners final
+            linkedIndex = numOfSpaces;
+            child = matches[1];
+        } else if (referenceValue >= numOfSpaces && referenceValue < numOfSpaces + index) {
+            linkedIndex = referenceValue - numOfSpaces;
+            child = losersMatches[linkedIndex];
+        } else {
+            throw new IllegalArgumentException("Match " + (numOfSpaces + index) + " has invalid child " + referenceValue);
+        }
+
+        if (child == null || linked[linkedIndex]) {
+            throw new IllegalArgumentException("Match " + (numOfSpaces + index) + " has invalid child " + referenceValue);
+        }
+        linked[linkedIndex] = true;
+        return child;
+    }
+
+    private void writePlayers(Match match, int[] slots, int offset, Map<Long, Integer> playerIndex, List<Player> players) {
+        if (match == null) {
+            slots[offset] = ABSENT;
+            slots[offset + 1] = NONE;
+            slots[offset + 2] = NONE;
+            return;
+        }
+        slots[offset] = indexOf(match.getPlayer1(), playerIndex, players);
+        slots[offset + 1] = indexOf(match.getPlayer2(), playerIndex, players);
+        slots[offset + 2] = indexOf(match.getWinner(), playerIndex, players);
+    }
+
+    private int indexOf(Player player, Map<Long, Integer> playerIndex, List<Player> players) {
+        if (player == null) return NONE;
+        return playerIndex.computeIfAbsent(player.getId(), id -> {
+            players.add(player);
+            return players.size() - 1;
+        });
+    }
+
+    private int referenceOf(Match match) {
+        return match != null ? match.getReferenceValue() : 0;
+    }
+
+    private Match readMatch(ByteBuffer buffer, Player[] playerTable, int referenceValue) {
+        int player1 = buffer.getInt();
+        int player2 = buffer.getInt();
+        int winner = buffer.getInt();
+        if (player1 == ABSENT) return null;
+        if (winner != NONE && winner != player1 && winner != player2) {
+            throw new IllegalArgumentException("Winner of match " + referenceValue + " is not one of its players");
+        }
+
+        Match match = new Match();
+        match.setReferenceValue(referenceValue);
+        match.setPlayer1(playerAt(playerTable, player1, referenceValue));
+        match.setPlayer2(playerAt(playerTable, player2, referenceValue));
+        match.setWinner(playerAt(playerTable, winner, referenceValue));
+        return match;
+    }
+
+    private Player playerAt(Player[] playerTable, int index, int referenceValue) {
+        if (index == NONE) return null;
+        if (index < 0 || index >= playerTable.length) {
+            throw new IllegalArgumentException("Match " + referenceValue + " has unknown player " + index);
+        }
+        return playerTable[index];
+    }
+
+    private void link(Match parent, Match left, Match right) {
+        parent.setLeftMatch(left);
+        parent.setRightMatch(right);
+        if (left != null) left.setParentMatch(parent);
+        if (right != null) right.setParentMatch(parent);
+    }
+}
@@ -0,0 +1,160 @@
+package com.fightinggame.tournament.bracket.service.util;
+
+import com.fightinggame.tournament.bracket.dto.BracketChangeEvent;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans bracket changes out to Server-Sent Events subscribers.
+ *
+ * <p>The bracket writer only offers the event to a bounded queue per subscriber and returns, the network writes
+ * happen on a small sender pool. A subscriber that falls a full queue behind loses its pending events and gets a
+ * single {@value #RESYNC_EVENT} event instead, telling the client to fetch the whole bracket again.
+ */
+@Component
+public class BracketEventBroadcaster implements DisposableBean {
+
+    public static final String CHANGE_EVENT = "match";
+    public static final String RESYNC_EVENT = "resync";
+
+    // Events sent in one go before the sender thread moves on to another subscriber
+    private static final int SEND_BATCH = 64;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService sender;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+
+    public BracketEventBroadcaster(
+            @Value("${tournament.stream.queue-capacity:256}") int queueCapacity,
+            @Value("${tournament.stream.sender-threads:4}") int senderThreads,
+            @Value("${tournament.stream.timeout-ms:0}") long timeoutMillis
+    ) {
+        if (queueCapacity < 1 || senderThreads < 1) {
+            throw new IllegalArgumentException("Stream queue capacity and sender threads must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "bracket-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Register a new subscriber. It starts with a resync, so the client loads the bracket it is going to follow.
+     * @param bracketId only forward changes of this bracket, or every bracket when null
+     */
+    public SseEmitter subscribe(Long bracketId) {
+        Subscriber subscriber = new Subscriber(createEmitter(timeoutMillis), bracketId, queueCapacity);
+
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+
+        subscribers.add(subscriber);
+        subscriber.resync.set(true);
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Hand the change to every interested subscriber, never blocks the caller on a client
+     */
+    public void publish(BracketChangeEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.bracketId != null && subscriber.bracketId != event.bracketId()) continue;
+
+            if (!subscriber.queue.offer(event)) {
+                // Too far behind, the pending deltas are worthless once the client reloads the bracket
+                subscriber.resync.set(true);
+                subscriber.queue.clear();
+            }
+            schedule(subscriber);
+        }
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            for (int sent = 0; sent < SEND_BATCH; sent++) {
+                if (subscriber.resync.getAndSet(false)) {
+                    subscriber.emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(""));
+                    continue;
+                }
+                BracketChangeEvent event = subscriber.queue.poll();
+                if (event == null) break;
+                subscriber.emitter.send(SseEmitter.event()
+                        .name(CHANGE_EVENT)
+                        .id(event.bracketId() + "-" + event.version())
+                        .data(event));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client is gone, the emitter callbacks may not run for a broken connection
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        }
+
+        subscriber.scheduled.set(false);
+        // Something may have arrived after the last poll, while this drain was still flagged as scheduled
+        if (subscriber.resync.get() || !subscriber.queue.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long bracketId;
+        private final BlockingQueue<BracketChangeEvent> queue;
+        private final AtomicBoolean resync = new AtomicBoolean();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Long bracketId, int queueCapacity) {
+            this.emitter = emitter;
+            this.bracketId = bracketId;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.fightinggame.tournament.bracket.service.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fightinggame.tournament.bracket.model.BracketSnapshot;
+import com.fightinggame.tournament.match.model.MatchSnapshot;
+import com.fightinggame.tournament.player.model.Player;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Writes a bracket snapshot as flat JSON straight to a stream with the Jackson generator:
+ * a player table written once, followed by the matches referencing players by id.
+ *
+ * <p>No intermediate objects are built, the only extra memory is the traversal stack (bracket depth).
+ */
+@Component
+public class BracketJsonWriter {
+
+    private final JsonFactory jsonFactory;
+
+    public BracketJsonWriter(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Output format:
+     * {"id": 1, "format": "SINGLE_ELIMINATION", "players": [{"id", "nickname", "rating"}...],
+     *  "matches": [{"referenceValue", "leftMatch", "rightMatch", "player1", "player2", "winner"}...]}
+     * where the match fields hold reference values and player ids (or null).
+     */
+    public void writeFlat(BracketSnapshot bracket, OutputStream outputStream) throws IOException {
+
+        JsonGenerator generator = jsonFactory.createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);     // The stream belongs to the caller
+
+        generator.writeStartObject();
+        generator.writeNumberField("id", bracket.id());
+        if (bracket.format() != null) generator.writeStringField("format", bracket.format().name());
+
+        generator.writeArrayFieldStart("players");
+        preorder(bracket.winnersRootMatch(), match -> writeIntroducedPlayers(generator, match));
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("matches");
+        preorder(bracket.rootMatch(), match -> writeMatch(generator, match));
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    /**
+     * Players enter the bracket in the match where they are not the winner of a previous match,
+     * so every player is written exactly once without tracking the ones already written.
+     * Only the winners bracket is visited, players in the losers bracket all came from there.
+     */
+    private void writeIntroducedPlayers(JsonGenerator generator, MatchSnapshot match) throws IOException {
+        if (isIntroducedIn(match, match.player1())) writePlayer(generator, match.player1());
+        if (isIntroducedIn(match, match.player2())) writePlayer(generator, match.player2());
+    }
+
+    private boolean isIntroducedIn(MatchSnapshot match, Player player) {
+        return player != null
+                && !isWinnerOf(match.leftMatch(), player)
+                && !isWinnerOf(match.rightMatch(), player);
+    }
+
+    private boolean isWinnerOf(MatchSnapshot match, Player player) {
+        return match != null && match.winner() != null && match.winner().getId() == player.getId();
+    }
+
+    private void writePlayer(JsonGenerator generator, Player player) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", player.getId());
+        generator.writeStringField("nickname", player.getNickname());
+        generator.writeNumberField("rating", player.getRating());
+        generator.writeEndObject();
+    }
+
+    private void writeMatch(JsonGenerator generator, MatchSnapshot match) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("referenceValue", match.referenceValue());
+        writeReference(generator, "leftMatch", match.leftMatch());
+        writeReference(generator, "rightMatch", match.rightMatch());
+        writePlayerId(generator, "player1", match.player1());
+        writePlayerId(generator, "player2", match.player2());
+        writePlayerId(generator, "winner", match.winner());
+        generator.writeEndObject();
+    }
+
+    private void writeReference(JsonGenerator generator, String field, MatchSnapshot match) throws IOException {
+        if (match != null) generator.writeNumberField(field, match.referenceValue());
+        else generator.writeNullField(field);
+    }
+
+    private void writePlayerId(JsonGenerator generator, String field, Player player) throws IOException {
+        if (player != null) generator.writeNumberField(field, player.getId());
+        else generator.writeNullField(field);
+    }
+
+    /**
+     * Iterative pre-order walk, the stack never holds more than one pending sibling per level
+     */
+    private void preorder(MatchSnapshot root, MatchVisitor visitor) throws IOException {
+        if (root == null) return;
+
+        Deque<MatchSnapshot> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            MatchSnapshot match = stack.pop();
+            visitor.visit(match);
+
+            if (match.rightMatch() != null) stack.push(match.rightMatch());
+            if (match.leftMatch() != null) stack.push(match.leftMatch());
+        }
+    }
+
+    @FunctionalInterface
+    private interface MatchVisitor {
+        void visit(MatchSnapshot match) throws IOException;
+    }
+}
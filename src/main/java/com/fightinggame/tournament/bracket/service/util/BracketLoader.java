@@ -0,0 +1,145 @@
+package com.fightinggame.tournament.bracket.service.util;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.BracketRecord;
+import com.fightinggame.tournament.bracket.model.JournalEntry;
+import com.fightinggame.tournament.bracket.model.JournalOperation;
+import com.fightinggame.tournament.bracket.repository.BracketRecordRepository;
+import com.fightinggame.tournament.bracket.service.BracketService;
+import com.fightinggame.tournament.match.dto.SelectWinnerRequest;
+import com.fightinggame.tournament.match.dto.WinnerBatchResponse;
+import com.fightinggame.tournament.match.service.MatchService;
+import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.player.repository.PlayerRepository;
+import com.fightinggame.tournament.shared.MatchOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads the stored brackets back into the registry when the application starts, then replays the journal
+ * entries they don't include yet, so a restart (or a crash) in the middle of an event resumes where it stopped
+ */
+@Slf4j
+@Component
+public class BracketLoader implements SmartInitializingSingleton {
+
+    private final BracketRecordRepository bracketRecordRepository;
+    private final PlayerRepository playerRepository;
+    private final BracketCodec bracketCodec;
+    private final MatchOperator bracketOperator;
+    private final BracketRegistry bracketRegistry;
+    private final BracketWriteBehind bracketWriteBehind;
+    private final MatchJournal matchJournal;
+    private final BracketService bracketService;
+    private final MatchService matchService;
+
+    public BracketLoader(BracketRecordRepository bracketRecordRepository,
+                         PlayerRepository playerRepository,
+                         BracketCodec bracketCodec,
+                         MatchOperator bracketOperator,
+                         BracketRegistry bracketRegistry,
+                         BracketWriteBehind bracketWriteBehind,
+                         MatchJournal matchJournal,
+                         BracketService bracketService,
+                         MatchService matchService) {
+        this.bracketRecordRepository = bracketRecordRepository;
+        this.playerRepository = playerRepository;
+        this.bracketCodec = bracketCodec;
+        this.bracketOperator = bracketOperator;
+        this.bracketRegistry = bracketRegistry;
+        this.bracketWriteBehind = bracketWriteBehind;
+        this.matchJournal = matchJournal;
+        this.bracketService = bracketService;
+        this.matchService = matchService;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (bracketWriteBehind.isEnabled()) {
+            loadBrackets();
+        }
+        if (matchJournal.isEnabled()) {
+            replayJournal();
+        }
+    }
+
+    /**
+     * Decode every stored bracket, publish it and store it in the registry (the highest id becomes the current one)
+     * @return the number of loaded brackets
+     */
+    public int loadBrackets() {
+        List<BracketRecord> records = bracketRecordRepository.findAll();
+        records.sort((first, second) -> Long.compare(first.getId(), second.getId()));
+
+        // One query for the players of every bracket
+        Set<Long> playerIds = new HashSet<>();
+        for (BracketRecord record : records) {
+            for (long id : bracketCodec.playerIds(record)) playerIds.add(id);
+        }
+        Map<Long, Player> players = new HashMap<>();
+        for (Player player : playerRepository.findEntrantsByIdIn(playerIds)) {
+            players.put(player.getId(), player);
+        }
+
+        for (BracketRecord record : records) {
+            // Players deleted since the bracket was stored keep their place with a placeholder
+            Bracket bracket = bracketCodec.decode(record,
+                    id -> players.computeIfAbsent(id, missing -> new Player(missing, "Deleted player")));
+
+            bracket.setVersion(record.getVersion() - 1);    // Publishing brings back the stored version
+            bracketOperator.publishSnapshot(bracket);
+            bracketRegistry.restoreBracket(bracket);
+        }
+        return records.size();
+    }
+
+    /**
+     * Apply the journal entries newer than the loaded brackets through the match service, the same way
+     * they were applied the first time, so every bracket ends at the version it had
+     * @return the number of journal entries read
+     */
+    public long replayJournal() {
+        long entries = matchJournal.replay(this::replayGroup);
+        log.info("Replayed {} journal entries", entries);
+        return entries;
+    }
+
+    private void replayGroup(List<JournalEntry> group) {
+        JournalEntry first = group.get(0);
+        Bracket bracket = bracketRegistry.getBracket(first.bracketId()).orElse(null);
+        if (bracket == null) return;    // Deleted, its record is gone already
+
+        if (first.operation() == JournalOperation.DELETE) {
+            bracketService.deleteBracket(first.bracketId());
+            return;
+        }
+        // Initializations are stored right away, results up to the stored version are already in the bracket
+        if (first.operation() == JournalOperation.INITIALIZE || first.version() <= bracket.getVersion()) return;
+        if (first.version() != bracket.getVersion() + 1) {
+            log.warn("Journal of bracket {} jumps from version {} to {}", bracket.getId(), bracket.getVersion(),
+                    first.version());
+        }
+
+        // A failure is left to the journal, which keeps the segment of an entry that was never applied
+        if (first.operation() == JournalOperation.DESELECT_WINNER) {
+            matchService.deselectWinner(first.bracketId(), first.matchReferenceValue(), (int) first.playerId());
+        } else if (group.size() == 1) {
+            matchService.selectWinner(first.bracketId(), first.matchReferenceValue(), (int) first.playerId());
+        } else {
+            WinnerBatchResponse response = matchService.selectWinners(first.bracketId(), group.stream()
+                    .map(entry -> new SelectWinnerRequest(entry.matchReferenceValue(), (int) entry.playerId()))
+                    .toList());
+            if (!response.committed()) {
+                throw new IllegalStateException("Batch of bracket " + first.bracketId() + " version " + first.version()
+                        + " was not committed");
+            }
+        }
+    }
+}
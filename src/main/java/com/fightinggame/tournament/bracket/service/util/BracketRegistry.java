@@ -0,0 +1,83 @@
+package com.fightinggame.tournament.bracket.service.util;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory registry of every tournament bracket running in this instance, keyed by the bracket id.
+ * Backed by a concurrent map, so lookups are constant time and brackets don't block each other.
+ */
+@Component
+public class BracketRegistry {
+
+    private final ConcurrentMap<Long, Bracket> brackets = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong();
+
+    // Last stored bracket, served by the endpoints that don't take a bracket id
+    private final AtomicReference<Bracket> currentBracket = new AtomicReference<>();
+
+    /**
+     * Reserve an id for a bracket that is going to be stored
+     */
+    public long nextId() {
+        return idSequence.incrementAndGet();
+    }
+
+    /**
+     * Store the bracket as the current one, assigning a new id if it doesn't have one yet
+     * @return the id of the bracket
+     */
+    public long storeBracket(Bracket bracket) {
+        if (bracket.getId() == 0) {
+            bracket.setId(nextId());
+        }
+        long id = bracket.getId();
+        brackets.put(id, bracket);
+        currentBracket.set(bracket);
+        return id;
+    }
+
+    /**
+     * Put back a bracket loaded from storage with its own id, new ids continue after it.
+     * The bracket with the highest id becomes the current one.
+     */
+    public void restoreBracket(Bracket bracket) {
+        long id = bracket.getId();
+        brackets.put(id, bracket);
+        idSequence.accumulateAndGet(id, Math::max);
+        currentBracket.accumulateAndGet(bracket,
+                (current, restored) -> current == null || current.getId() < restored.getId() ? restored : current);
+    }
+
+    public Optional<Bracket> getBracket(long id) {
+        return Optional.ofNullable(brackets.get(id));
+    }
+
+    public Bracket getCurrentBracket() {
+        return currentBracket.get();
+    }
+
+    public Collection<Bracket> getAllBrackets() {
+        return brackets.values();
+    }
+
+    /**
+     * Remove the bracket from the registry, also clearing the current bracket if it was this one
+     * @return true if a bracket was removed
+     */
+    public boolean removeBracket(long id) {
+        Bracket removed = brackets.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        currentBracket.compareAndSet(removed, null);
+        return true;
+    }
+}
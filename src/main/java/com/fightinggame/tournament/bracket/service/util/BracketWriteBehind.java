@@ -0,0 +1,176 @@
+package com.fightinggame.tournament.bracket.service.util;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.BracketRecord;
+import com.fightinggame.tournament.bracket.repository.BracketRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Persists changed brackets in the background, so result submissions never wait on the database.
+ *
+ * <p>Writers only mark the bracket as dirty. A single thread flushes every few milliseconds, encoding each
+ * dirty bracket once however many results it got in between. Failed writes are retried on the next flush,
+ * and everything pending is flushed on shutdown.
+ *
+ * <p>The stored brackets are also the snapshots of the {@link MatchJournal}: a flush that stores everything
+ * pending lets the journal drop the entries written before it started.
+ */
+@Slf4j
+@Component
+public class BracketWriteBehind implements DisposableBean {
+
+    private final BracketRecordRepository bracketRecordRepository;
+    private final BracketCodec bracketCodec;
+    private final MatchJournal matchJournal;
+
+    private final ConcurrentMap<Long, Bracket> dirty = new ConcurrentHashMap<>();
+    private final Queue<Long> pendingDeletes = new ConcurrentLinkedQueue<>();
+
+    // Ids are never reused, so a late change of a deleted bracket must not bring its record back
+    private final Set<Long> deleted = ConcurrentHashMap.newKeySet();
+
+    // Null when persistence is disabled
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * @param flushMillis delay between flushes, 0 disables persistence
+     */
+    public BracketWriteBehind(
+            BracketRecordRepository bracketRecordRepository,
+            BracketCodec bracketCodec,
+            MatchJournal matchJournal,
+            @Value("${tournament.persistence.flush-ms:200}") long flushMillis
+    ) {
+        this.bracketRecordRepository = bracketRecordRepository;
+        this.bracketCodec = bracketCodec;
+        this.matchJournal = matchJournal;
+
+        if (flushMillis <= 0) {
+            this.flusher = null;
+            return;
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bracket-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isEnabled() {
+        return flusher != null;
+    }
+
+    /**
+     * Schedule the bracket to be stored, constant time
+     */
+    public void markDirty(Bracket bracket) {
+        if (!isEnabled() || deleted.contains(bracket.getId())) return;
+        dirty.put(bracket.getId(), bracket);
+    }
+
+    /**
+     * Store the bracket right away, for its first version: journal entries are replayed on top of a stored bracket.
+     * If the write fails it is left to the next flush.
+     */
+    public void store(Bracket bracket) {
+        if (!isEnabled()) return;
+        try {
+            bracketRecordRepository.save(encode(bracket));
+        } catch (RuntimeException e) {
+            log.warn("Could not store bracket {}, retrying on the next flush", bracket.getId(), e);
+            markDirty(bracket);
+        }
+    }
+
+    /**
+     * Schedule the stored bracket to be removed
+     */
+    public void markDeleted(long bracketId) {
+        if (!isEnabled()) return;
+        deleted.add(bracketId);
+        dirty.remove(bracketId);
+        pendingDeletes.add(bracketId);
+    }
+
+    /**
+     * Write every pending change, called by the flusher thread and on shutdown
+     */
+    public synchronized void flush() {
+
+        // Changes are marked before they are journaled, so every entry before this position is in a dirty bracket
+        long journalPosition = matchJournal.position();
+        boolean stored = true;
+
+        List<Bracket> brackets = new ArrayList<>();
+        List<BracketRecord> records = new ArrayList<>();
+        for (Long bracketId : dirty.keySet()) {
+            Bracket bracket = dirty.remove(bracketId);
+            if (bracket == null || deleted.contains(bracketId)) continue;
+            brackets.add(bracket);
+            records.add(encode(bracket));
+        }
+
+        if (!records.isEmpty()) {
+            try {
+                bracketRecordRepository.saveAll(records);
+            } catch (RuntimeException e) {
+                log.warn("Could not store {} brackets, retrying on the next flush", records.size(), e);
+                brackets.forEach(bracket -> dirty.putIfAbsent(bracket.getId(), bracket));
+                stored = false;
+            }
+        }
+
+        List<Long> deletes = new ArrayList<>();
+        for (Long bracketId; (bracketId = pendingDeletes.poll()) != null; ) {
+            deletes.add(bracketId);
+        }
+        if (!deletes.isEmpty()) {
+            try {
+                bracketRecordRepository.deleteAllById(deletes);
+            } catch (RuntimeException e) {
+                log.warn("Could not delete {} brackets, retrying on the next flush", deletes.size(), e);
+                pendingDeletes.addAll(deletes);
+                stored = false;
+            }
+        }
+
+        if (stored) {
+            matchJournal.checkpoint(journalPosition);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (!isEnabled()) return;
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flush();
+    }
+
+    // Encoding only reads the bracket in memory, writers wait for microseconds at most
+    private BracketRecord encode(Bracket bracket) {
+        StampedLock lock = bracket.getLock();
+        long stamp = lock.readLock();
+        try {
+            return bracketCodec.encode(bracket);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -3,9 +3,13 @@ package com.fightinggame.tournament.bracket.service.util;
 import com.fightinggame.tournament.bracket.model.Bracket;
 import com.fightinggame.tournament.match.model.Match;
 import com.fightinggame.tournament.shared.MatchOperator;
+import com.fightinggame.tournament.shared.Interruption;
 import com.fightinggame.tournament.player.model.Player;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Simplifies tournament without enough players for a full bracket
  * Handles edge cases like bye matches (matches with missing players)
@@ -13,6 +17,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class ByeMatchSimplifier {
 
+    // Brackets with more spaces are simplified in parallel
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    // Subtrees with this many layers below their root or less are simplified by a single task
+    private static final int LEVELS_PER_TASK = 14;
+
     private final MatchOperator bracketOperator;
 
     public ByeMatchSimplifier(MatchOperator bracketOperator) {
@@ -20,49 +30,185 @@ public class ByeMatchSimplifier {
     }
 
     /**
-     * Calls a recursive method to free the bye matches in the bracket from the root node
+     * Free the bye matches in the bracket, in parallel for brackets larger than {@value #PARALLEL_THRESHOLD} spaces.
+     * Double elimination brackets are simplified from the winners final, then the losers bracket follows.
      * @param bracket the current one
      */
     public void simplify(Bracket bracket) {
         if (bracket == null || bracket.getRootMatch() == null) {
             return;
         }
-        postorderTraversalSimplification(bracket.getRootMatch());
+        simplify(bracket, bracket.getMatches().length > PARALLEL_THRESHOLD);
     }
 
     /**
-     * Search for bye matches, if found, move the player to the next match recursively
-     * @param match the current match to be (or not) simplified
+     * The parallel mode simplifies independent subtrees on the common fork/join pool, both modes give the same bracket
+     * @param bracket the current one
      */
-    private void postorderTraversalSimplification (Match match) {
+    public void simplify(Bracket bracket, boolean parallel) {
+        if (bracket == null || bracket.getRootMatch() == null) {
+            return;
+        }
+        if (parallel) {
+            ForkJoinPool.commonPool().invoke(new SubtreeTask(bracket, 1, Thread.currentThread()));
+        } else {
+            simplifySubtree(bracket, 1);
+        }
+        if (bracket.isDoubleElimination()) {
+            simplifyLosersBracket(bracket);
+        }
+    }
 
-        Match left = match.getLeftMatch();
-        Match right = match.getRightMatch();
+    /**
+     * Search for bye matches below the match at the root index, bottom-up and layer by layer over the heap index:
+     * the descendants of the match at index i in the k-th layer below it are the indexes from i * 2^k to
+     * (i + 1) * 2^k - 1. A layer only leaves matches without children above it when two byes are siblings,
+     * so the sweep stops at the first layer without them, usually right after the first round.
+     * @param bracket the bracket whose heap index must forget the pruned matches
+     * @param rootIndex heap index of the subtree root, which is never pruned here
+     */
+    private void simplifySubtree (Bracket bracket, int rootIndex) {
 
-        // Check left, right and root respectively
-        if (!isMatchLeaf(left)) postorderTraversalSimplification(left);
-        if (!isMatchLeaf(right)) postorderTraversalSimplification(right);
+        Match[] matches = bracket.getMatches();
+        boolean newLeaves = true;
 
-        // Byes conditions are: having only one player AND being a leaf even after past simplifications
-        // After that move the non-null player to the next match
-        if (isMatchBye(left) && isMatchLeaf(left)) {
-            left.setWinner(getNonNullPlayer(left));
-            bracketOperator.allocateWinner(match, left);
+        for (int shift = leafShift(matches, rootIndex); shift > 0 && newLeaves; shift--) {
+            newLeaves = false;
+            for (int index = rootIndex << shift; index < (rootIndex + 1) << shift; index += 2) {
+                newLeaves |= simplifySiblings(bracket, matches, index);
+            }
+        }
+    }
+
+    /**
+     * Byes conditions are: having only one player AND being a leaf even after past simplifications.
+     * After that move the non-null player to the next match, left child first.
+     * @param leftIndex heap index of the left sibling
+     * @return whether the next match has no children left
+     */
+    private boolean simplifySiblings (Bracket bracket, Match[] matches, int leftIndex) {
+
+        Match match = matches[leftIndex >>> 1];
+        Match left = matches[leftIndex];
+        Match right = matches[leftIndex + 1];
+
+        if (isLeafBye(left)) {
+            pruneBye(bracket, match, left);
             match.setLeftMatch(null);
         }
-        if (isMatchBye(right) && isMatchLeaf(right)) {
-            right.setWinner(getNonNullPlayer(right));
-            bracketOperator.allocateWinner(match, right);
+        if (isLeafBye(right)) {
+            pruneBye(bracket, match, right);
             match.setRightMatch(null);
-        };
+        }
+        return match.getLeftMatch() == null && match.getRightMatch() == null;
+    }
+
+    private void pruneBye (Bracket bracket, Match match, Match bye) {
+        bye.setWinner(getNonNullPlayer(bye));
+        bracketOperator.allocateWinner(match, bye);
+        detachMatch(bracket, bye);
     }
 
-    private boolean isMatchBye (Match match) {
-        return (match.getPlayer1() == null ^ match.getPlayer2() == null);
+    // Layers between the subtree root and the first round
+    private static int leafShift (Match[] matches, int rootIndex) {
+        int levels = Integer.numberOfTrailingZeros(matches.length);
+        int rootDepth = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(rootIndex);
+        return levels - 1 - rootDepth;
+    }
+
+    /**
+     * Simplifies both halves of a subtree at the same time, then the two children of its root.
+     * The halves only prune their own matches and write their own root, the shared root is written after both finish.
+     */
+    private class SubtreeTask extends RecursiveAction {
+
+        private final Bracket bracket;
+        private final int rootIndex;
+        private final Thread requester;
+
+        private SubtreeTask(Bracket bracket, int rootIndex, Thread requester) {
+            this.bracket = bracket;
+            this.rootIndex = rootIndex;
+            this.requester = requester;
+        }
+
+        @Override
+        protected void compute() {
+            Match[] matches = bracket.getMatches();
+            if (leafShift(matches, rootIndex) <= LEVELS_PER_TASK) {
+                Interruption.check(requester);
+                simplifySubtree(bracket, rootIndex);
+                return;
+            }
+            invokeAll(new SubtreeTask(bracket, 2 * rootIndex, requester),
+                    new SubtreeTask(bracket, 2 * rootIndex + 1, requester));
+            simplifySiblings(bracket, matches, 2 * rootIndex);
+        }
+    }
+
+    /**
+     * A pruned first round match has no loser, so the losers bracket slot it fed stays empty forever.
+     * Losers matches are visited round by round counting their live inputs (drops and child matches):
+     * with a single input the match is skipped, the drop table or the child link goes straight to the next match,
+     * and with none it is removed. Linear in the number of matches.
+     */
+    private void simplifyLosersBracket (Bracket bracket) {
+
+        int numOfSpaces = bracket.getMatches().length;
+        Match[] losersMatches = bracket.getLosersMatches();
+        int[] dropTable = bracket.getDropTable();
+        int losersCount = losersMatches.length - 2;     // Grand finals and reset always stay
+
+        int[] liveDrops = new int[losersCount];
+        int[] lastDrop = new int[losersCount];
+        for (int referenceValue = 1; referenceValue < numOfSpaces; referenceValue++) {
+            if (bracket.getMatch(referenceValue) == null) continue;     // Pruned bye, nobody drops from it
+            addDrop(liveDrops, lastDrop, dropTable[referenceValue] - numOfSpaces, referenceValue);
+        }
+
+        for (int index = 0; index < losersCount; index++) {
+            Match match = losersMatches[index];
+            Match left = match.getLeftMatch();
+            Match right = match.getRightMatch();
+            int children = (left != null ? 1 : 0) + (right != null ? 1 : 0);
+            if (liveDrops[index] + children == 2) continue;
+
+            Match next = match.getParentMatch();
+            Match survivor = children == 1 ? (left != null ? left : right) : null;
+            replaceChild(next, match, survivor);
+            if (survivor != null) {
+                survivor.setParentMatch(next);
+            } else if (liveDrops[index] == 1) {
+                // The only player of this match drops straight into the next one
+                dropTable[lastDrop[index]] = next.getReferenceValue();
+                addDrop(liveDrops, lastDrop, next.getReferenceValue() - numOfSpaces, lastDrop[index]);
+            }
+            detachMatch(bracket, match);
+        }
+    }
+
+    private void addDrop (int[] liveDrops, int[] lastDrop, int losersIndex, int fromReferenceValue) {
+        if (losersIndex < liveDrops.length) {   // Drops into the grand finals need no tracking
+            liveDrops[losersIndex]++;
+            lastDrop[losersIndex] = fromReferenceValue;
+        }
+    }
+
+    private void replaceChild (Match parent, Match child, Match replacement) {
+        if (parent.getLeftMatch() == child) parent.setLeftMatch(replacement);
+        else if (parent.getRightMatch() == child) parent.setRightMatch(replacement);
+    }
+
+    private void detachMatch (Bracket bracket, Match match) {
+        match.setParentMatch(null);     // The pruned bye is no longer part of the tree
+        if (bracket.getMatches() != null) {
+            bracket.unindexMatch(match);
+        }
     }
 
-    private boolean isMatchLeaf (Match match) {
-        return (match.getLeftMatch() == null && match.getRightMatch() == null);
+    private boolean isLeafBye (Match match) {
+        return match.getLeftMatch() == null && match.getRightMatch() == null
+                && (match.getPlayer1() == null ^ match.getPlayer2() == null);
     }
 
     private Player getNonNullPlayer (Match match) {
@@ -0,0 +1,542 @@
+package com.fightinggame.tournament.bracket.service.util;
+
+import com.fightinggame.tournament.bracket.model.JournalEntry;
+import com.fightinggame.tournament.bracket.model.JournalOperation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of every bracket change, in fixed-size binary records on memory-mapped segment files.
+ *
+ * <p>Appending is a few absolute writes into the mapped segment, microseconds. A single sync thread forces the
+ * written range to disk and releases every writer waiting on it at once (group commit), so however many results
+ * arrive while the disk is busy, they share the next fsync. Stored brackets are the snapshots: once the
+ * write-behind has stored everything up to a position, the segments before it are deleted, so startup only
+ * replays the tail.
+ *
+ * <p>Record layout ({@value #RECORD_SIZE} bytes, little endian): crc32c of the rest (int), operation code (byte),
+ * unused (byte), entries in the group (short), bracket id (long), version (long), match reference value (int),
+ * unused (int), player id (long), timestamp (long). Entries appended together (a batch) are stored contiguously
+ * and replayed together. Reading a segment stops at the first slot that doesn't check, an empty or torn tail.
+ */
+@Slf4j
+@Component
+public class MatchJournal implements DisposableBean {
+
+    public static final int RECORD_SIZE = 48;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    // Added to segments with entries that could not be replayed, so they are neither replayed again nor deleted
+    private static final String QUARANTINE_SUFFIX = ".quarantined";
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final boolean awaitDurable;
+
+    // Guards the write position and the segments, writers never hold it while the disk is forced
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+
+    // Full segments not yet covered by a checkpoint, oldest first
+    private final Deque<Segment> closedSegments = new ArrayDeque<>();
+
+    // Segments of previous runs, read by the replay
+    private final List<Segment> recoveredSegments = new ArrayList<>();
+    private Segment segment;
+
+    // Full segments of this run the sync thread hasn't forced yet
+    private final List<Segment> rolledSegments = new ArrayList<>();
+
+    // Sequence number of the next entry and of the first one not yet on disk
+    private long nextSequence;
+    private long durableSequence;
+
+    private volatile boolean replaying;
+
+    // Entries of previous runs are not in any stored bracket until they are replayed, so no checkpoint before that
+    private volatile boolean recovering;
+    private volatile boolean running;
+
+    // Set when the sync thread could not force the journal, nothing written after it can be made durable
+    private volatile IOException failure;
+
+    // Null when the journal is disabled
+    private final Thread syncThread;
+
+    /**
+     * @param directory folder of the segment files, created if missing
+     * @param enabled false turns every operation into a no-op
+     * @param segmentRecords entries per segment file
+     * @param awaitDurable whether writers wait for their entries to be forced to disk
+     */
+    public MatchJournal(
+            @Value("${tournament.journal.dir:${tournament.data-dir:./data}/journal}") Path directory,
+            @Value("${tournament.journal.enabled:true}") boolean enabled,
+            @Value("${tournament.journal.segment-records:65536}") int segmentRecords,
+            @Value("${tournament.journal.await-durable:true}") boolean awaitDurable
+    ) {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.awaitDurable = awaitDurable;
+
+        if (!enabled) {
+            this.syncThread = null;
+            return;
+        }
+        if (segmentRecords <= 0 || segmentRecords > Integer.MAX_VALUE / RECORD_SIZE) {
+            throw new IllegalArgumentException("Invalid number of entries per journal segment: " + segmentRecords);
+        }
+
+        try {
+            Files.createDirectories(directory);
+            recoverSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the match journal in " + directory, e);
+        }
+        // Never write after a recovered tail: a torn slot may be followed by stale data, start a new segment instead
+        segment = openSegment(nextSequence);
+        durableSequence = nextSequence;
+        recovering = !recoveredSegments.isEmpty();
+
+        running = true;
+        syncThread = new Thread(this::syncLoop, "match-journal-sync");
+        syncThread.setDaemon(true);
+        syncThread.start();
+    }
+
+    public static MatchJournal disabled() {
+        return new MatchJournal(null, false, 0, false);
+    }
+
+    public boolean isEnabled() {
+        return syncThread != null;
+    }
+
+    /**
+     * Sequence number the next entry will get, every entry before it is already in the journal.
+     * Until the entries of previous runs are replayed it is 0, so a checkpoint can't drop them.
+     */
+    public long position() {
+        if (!isEnabled() || recovering) return 0;
+        lock.lock();
+        try {
+            return nextSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Write the entry without waiting for the disk
+     * @return the position to pass to {@link #awaitDurable(long)}
+     */
+    public long append(JournalEntry entry) {
+        return append(List.of(entry));
+    }
+
+    /**
+     * Write the entries contiguously without waiting for the disk, they are replayed together
+     * @return the position to pass to {@link #awaitDurable(long)}
+     */
+    public long append(List<JournalEntry> entries) {
+        if (!isEnabled() || replaying || entries.isEmpty()) return 0;
+        if (entries.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("At most " + Short.MAX_VALUE + " entries can be appended together");
+        }
+        checkNotFailed();
+
+        lock.lock();
+        try {
+            if (segment.remaining() < entries.size()) {
+                rollSegment(entries.size());
+            }
+            for (JournalEntry entry : entries) {
+                writeRecord(segment.buffer, segment.used * RECORD_SIZE, entry, entries.size());
+                segment.used++;
+            }
+            nextSequence += entries.size();
+            pending.signal();
+            return nextSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Block until every entry before the position is on disk, returns at once when writers don't wait for it
+     * @throws UncheckedIOException if the journal failed before those entries reached the disk
+     */
+    public void awaitDurable(long position) {
+        if (!isEnabled() || !awaitDurable) return;
+        lock.lock();
+        try {
+            while (durableSequence < position && running && failure == null) {
+                synced.awaitUninterruptibly();
+            }
+            if (durableSequence < position) {
+                checkNotFailed();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkNotFailed() {
+        if (failure != null) {
+            throw new UncheckedIOException("The match journal stopped after a disk failure", failure);
+        }
+    }
+
+    /**
+     * Every entry before the position is part of a stored bracket, delete the segments holding only those
+     */
+    public void checkpoint(long position) {
+        if (!isEnabled()) return;
+        List<Segment> obsolete = new ArrayList<>();
+        lock.lock();
+        try {
+            while (!closedSegments.isEmpty() && closedSegments.peekFirst().endSequence() <= position) {
+                obsolete.add(closedSegments.pollFirst());
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Segment closed : obsolete) {
+            try {
+                Files.deleteIfExists(closed.path);
+            } catch (IOException e) {
+                log.warn("Could not delete journal segment {}", closed.path, e);
+            }
+        }
+    }
+
+    /**
+     * Read the entries written by previous runs in order, one group (a single result or a whole batch) at a time.
+     * Nothing is appended while the groups are handled, so applying them through the usual services doesn't
+     * record them twice. A group the handler fails on is logged and its segment is quarantined: renamed aside
+     * instead of being deleted by a later checkpoint, so the entries that were never applied are kept.
+     * @return the number of entries read
+     */
+    public long replay(Consumer<List<JournalEntry>> handler) {
+        if (!isEnabled()) return 0;
+        List<Segment> recovered;
+        lock.lock();
+        try {
+            recovered = new ArrayList<>(recoveredSegments);
+        } finally {
+            lock.unlock();
+        }
+
+        long count = 0;
+        replaying = true;
+        try {
+            for (Segment closed : recovered) {
+                List<JournalEntry> group = new ArrayList<>();
+                int groupSize = 0;
+                boolean failed = false;
+                for (int slot = 0; slot < closed.used; slot++) {
+                    int offset = slot * RECORD_SIZE;
+                    if (group.isEmpty()) {
+                        groupSize = closed.buffer.getShort(offset + 6);
+                    }
+                    group.add(readRecord(closed.buffer, offset));
+                    if (group.size() == groupSize) {
+                        failed |= !replayGroup(handler, List.copyOf(group));
+                        count += group.size();
+                        group.clear();
+                    }
+                }
+                if (failed) {
+                    quarantine(closed);
+                }
+            }
+        } finally {
+            replaying = false;
+            recovering = false;
+        }
+        return count;
+    }
+
+    private boolean replayGroup(Consumer<List<JournalEntry>> handler, List<JournalEntry> group) {
+        try {
+            handler.accept(group);
+            return true;
+        } catch (RuntimeException e) {
+            JournalEntry first = group.get(0);
+            log.error("Could not replay {} of bracket {} version {}", first.operation(), first.bracketId(),
+                    first.version(), e);
+            return false;
+        }
+    }
+
+    private void quarantine(Segment recovered) {
+        lock.lock();
+        try {
+            closedSegments.remove(recovered);
+        } finally {
+            lock.unlock();
+        }
+        Path target = recovered.path.resolveSibling(recovered.path.getFileName() + QUARANTINE_SUFFIX);
+        try {
+            Files.move(recovered.path, target, StandardCopyOption.REPLACE_EXISTING);
+            log.error("Journal segment {} has entries that could not be replayed, kept as {}", recovered.path, target);
+        } catch (IOException e) {
+            log.error("Could not quarantine journal segment {}, it won't be deleted by checkpoints", recovered.path, e);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (!isEnabled()) return;
+        lock.lock();
+        try {
+            running = false;
+            pending.signal();
+            synced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        syncThread.join(5000);
+        if (failure != null) return;    // The disk already refused them
+        for (Segment rolled : rolledSegments) rolled.buffer.force();
+        segment.buffer.force();
+    }
+
+    /**
+     * Waits for new entries, forces them to disk and releases their writers. Entries written while forcing
+     * go together in the next round. Segments rolled in the meantime are forced first and then dropped,
+     * so their mapping is released. A failure to force stops the loop and fails every writer, waiting or not.
+     */
+    private void syncLoop() {
+        try {
+            syncRounds();
+        } catch (RuntimeException e) {
+            log.error("Could not force the match journal to disk, no more results are accepted", e);
+            lock.lock();
+            try {
+                failure = new IOException("Could not force the match journal to disk", e);
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void syncRounds() {
+        while (true) {
+            List<Segment> rolled;
+            Segment target;
+            int to;
+            long sequence;
+            lock.lock();
+            try {
+                while (running && durableSequence == nextSequence) {
+                    pending.awaitUninterruptibly();
+                }
+                if (!running) return;
+                rolled = new ArrayList<>(rolledSegments);
+                target = segment;
+                sequence = nextSequence;
+                to = segment.used;
+            } finally {
+                lock.unlock();
+            }
+
+            for (Segment closed : rolled) {
+                force(closed, closed.used);
+                closed.buffer = null;   // Nothing reads it any more, the mapping goes with it
+            }
+            force(target, to);
+
+            lock.lock();
+            try {
+                rolledSegments.removeAll(rolled);
+                durableSequence = Math.max(durableSequence, sequence);
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Only the sync thread forces, so it alone tracks how much of a segment is on disk
+    private void force(Segment target, int to) {
+        force(target.buffer, target.forced * RECORD_SIZE, (to - target.forced) * RECORD_SIZE);
+        target.forced = to;
+    }
+
+    /**
+     * Write a range of a mapped segment through to the disk, tests override it to simulate a failing disk
+     */
+    void force(MappedByteBuffer buffer, int index, int length) {
+        buffer.force(index, length);
+    }
+
+    /**
+     * Called under the lock when the entries don't fit in the current segment. The full one is only swapped out,
+     * the sync thread forces it with the next group, so writers never wait for a whole segment to reach the disk.
+     * The next segment is opened first, so a failure to create it leaves the full one in place.
+     */
+    private void rollSegment(int size) {
+        if (size > segmentRecords) {
+            throw new IllegalArgumentException("At most " + segmentRecords + " entries can be appended together");
+        }
+        Segment next = openSegment(nextSequence);
+        segment.endSequence = nextSequence;
+        closedSegments.addLast(segment);
+        rolledSegments.add(segment);
+        segment = next;
+    }
+
+    private Segment openSegment(long firstSequence) {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+            return new Segment(path, firstSequence, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create journal segment " + path, e);
+        }
+    }
+
+    /**
+     * Map the segments of previous runs read-only and find where their valid entries end
+     */
+    private void recoverSegments() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        }
+
+        for (Path path : paths) {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            Segment recovered = new Segment(path, firstSequenceOf(path), buffer);
+            recovered.used = validRecords(buffer);
+            if (recovered.used == 0) {
+                Files.delete(path);
+                continue;
+            }
+            recovered.endSequence = recovered.firstSequence + recovered.used;
+            nextSequence = Math.max(nextSequence, recovered.endSequence);
+            closedSegments.addLast(recovered);
+            recoveredSegments.add(recovered);
+        }
+    }
+
+    private static long firstSequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Count the slots before the first empty or torn one, dropping an incomplete group at the end
+     */
+    private static int validRecords(MappedByteBuffer buffer) {
+        int slots = buffer.capacity() / RECORD_SIZE;
+        int valid = 0;
+        int groupStart = 0;
+        int groupSize = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            int offset = slot * RECORD_SIZE;
+            if (!checks(buffer, offset)) break;
+            if (slot == groupStart) {
+                groupSize = buffer.getShort(offset + 6);
+            }
+            if (slot - groupStart + 1 == groupSize) {
+                groupStart = slot + 1;
+                valid = groupStart;
+            }
+        }
+        return valid;
+    }
+
+    static void writeRecord(MappedByteBuffer buffer, int offset, JournalEntry entry, int groupSize) {
+        buffer.put(offset + 4, entry.operation().getCode());
+        buffer.put(offset + 5, (byte) 0);
+        buffer.putShort(offset + 6, (short) groupSize);
+        buffer.putLong(offset + 8, entry.bracketId());
+        buffer.putLong(offset + 16, entry.version());
+        buffer.putInt(offset + 24, entry.matchReferenceValue());
+        buffer.putInt(offset + 28, 0);
+        buffer.putLong(offset + 32, entry.playerId());
+        buffer.putLong(offset + 40, entry.timestamp());
+        buffer.putInt(offset, checksum(buffer, offset));
+    }
+
+    static JournalEntry readRecord(MappedByteBuffer buffer, int offset) {
+        return new JournalEntry(
+                JournalOperation.fromCode(buffer.get(offset + 4)),
+                buffer.getLong(offset + 8),
+                buffer.getLong(offset + 16),
+                buffer.getInt(offset + 24),
+                buffer.getLong(offset + 32),
+                buffer.getLong(offset + 40)
+        );
+    }
+
+    private static boolean checks(MappedByteBuffer buffer, int offset) {
+        return JournalOperation.fromCode(buffer.get(offset + 4)) != null
+                && buffer.getShort(offset + 6) > 0
+                && buffer.getInt(offset) == checksum(buffer, offset);
+    }
+
+    private static int checksum(MappedByteBuffer buffer, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + 4, RECORD_SIZE - 4));
+        return (int) crc.getValue();
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long firstSequence;
+        private MappedByteBuffer buffer;
+        private int used;
+        private int forced;
+        private long endSequence;
+
+        private Segment(Path path, long firstSequence, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstSequence = firstSequence;
+            this.buffer = buffer;
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        private int remaining() {
+            return buffer.capacity() / RECORD_SIZE - used;
+        }
+
+        private long endSequence() {
+            return endSequence;
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.fightinggame.tournament.exception.handler;
 
+import com.fightinggame.tournament.exception.model.BracketFileTooLargeException;
+import com.fightinggame.tournament.exception.model.BracketNotFoundException;
+import com.fightinggame.tournament.exception.model.JobNotFoundException;
+import com.fightinggame.tournament.exception.model.JobRejectedException;
 import com.fightinggame.tournament.exception.model.MatchNotFoundException;
+import com.fightinggame.tournament.exception.model.TournamentNotFoundException;
 import com.fightinggame.tournament.exception.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -25,4 +31,35 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse(e.getMessage()));
     }
 
+    @ExceptionHandler(BracketNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleBracketNotFound(BracketNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(TournamentNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTournamentNotFound(TournamentNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotFound(JobNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(JobRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleJobRejected(JobRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(new ErrorResponse(e.getMessage()));
+    }
+
+    @ExceptionHandler(BracketFileTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleBracketFileTooLarge(BracketFileTooLargeException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(new ErrorResponse(e.getMessage()));
+    }
+
 }
@@ -0,0 +1,10 @@
+package com.fightinggame.tournament.exception.model;
+
+/**
+ * The uploaded bracket file is larger than any bracket this instance loads
+ */
+public class BracketFileTooLargeException extends RuntimeException {
+    public BracketFileTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.fightinggame.tournament.exception.model;
+
+public class BracketNotFoundException extends RuntimeException {
+    public BracketNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.fightinggame.tournament.exception.model;
+
+public class JobNotFoundException extends RuntimeException {
+    public JobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.fightinggame.tournament.exception.model;
+
+/**
+ * The job queue is full, the client should retry later
+ */
+public class JobRejectedException extends RuntimeException {
+    public JobRejectedException(String message) {
+        super(message);
+    }
+}
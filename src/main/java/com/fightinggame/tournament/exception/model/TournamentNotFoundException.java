@@ -0,0 +1,7 @@
+package com.fightinggame.tournament.exception.model;
+
+public class TournamentNotFoundException extends RuntimeException {
+    public TournamentNotFoundException(String message) {
+        super(message);
+    }
+}
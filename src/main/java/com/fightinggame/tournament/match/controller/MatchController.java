@@ -1,11 +1,14 @@
 package com.fightinggame.tournament.match.controller;
 
 import com.fightinggame.tournament.match.dto.SelectWinnerRequest;
+import com.fightinggame.tournament.match.dto.WinnerBatchResponse;
 import com.fightinggame.tournament.match.service.MatchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Handles match winner operations in tournament brackets via REST API.
  */
@@ -43,4 +46,67 @@ public class MatchController {
 
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Declares a winner for a match of a specific bracket.
+     * @param bracketId Bracket's unique identifier
+     * @param request Contains match reference and winning player ID
+     * @return 200 OK on success
+     */
+    @PutMapping("/{bracketId}/winner")
+    public ResponseEntity<Void> selectWinner (
+            @PathVariable long bracketId,
+            @RequestBody SelectWinnerRequest request)
+    {
+        matchService.selectWinner(bracketId, request.matchReferenceValue(), request.playerId());
+
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Reverts a previously declared match winner of a specific bracket.
+     * @param bracketId Bracket's unique identifier
+     * @param request Contains match reference and player ID to deselect
+     * @return 200 OK on success
+     */
+    @DeleteMapping("/{bracketId}/winner")
+    public ResponseEntity<Void> deselectWinner (
+            @PathVariable long bracketId,
+            @RequestBody SelectWinnerRequest request)
+    {
+        matchService.deselectWinner(bracketId, request.matchReferenceValue(), request.playerId());
+
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Declares the winners of several matches at once, all or nothing.
+     * @param requests Match references and winning player IDs
+     * @return 200 OK with the outcome of each result, 400 Bad Request with the outcomes if any was rejected
+     */
+    @PutMapping("/winners")
+    public ResponseEntity<WinnerBatchResponse> selectWinners (
+            @RequestBody List<SelectWinnerRequest> requests)
+    {
+        return batchResponse(matchService.selectWinners(requests));
+    }
+
+    /**
+     * Declares the winners of several matches of a specific bracket at once, all or nothing.
+     * @param bracketId Bracket's unique identifier
+     * @param requests Match references and winning player IDs
+     * @return 200 OK with the outcome of each result, 400 Bad Request with the outcomes if any was rejected
+     */
+    @PutMapping("/{bracketId}/winners")
+    public ResponseEntity<WinnerBatchResponse> selectWinners (
+            @PathVariable long bracketId,
+            @RequestBody List<SelectWinnerRequest> requests)
+    {
+        return batchResponse(matchService.selectWinners(bracketId, requests));
+    }
+
+    private ResponseEntity<WinnerBatchResponse> batchResponse (WinnerBatchResponse response) {
+        return response.committed() ? ResponseEntity.ok(response)
+                : ResponseEntity.badRequest().body(response);
+    }
 }
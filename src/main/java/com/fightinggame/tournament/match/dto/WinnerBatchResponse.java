@@ -0,0 +1,14 @@
+package com.fightinggame.tournament.match.dto;
+
+import java.util.List;
+
+/**
+ * Result of a batch submission, outcomes are in the same order as the submitted results
+ * @param committed true if every result was valid and the batch was applied
+ * @param version bracket version after the batch
+ */
+public record WinnerBatchResponse(
+        boolean committed,
+        long version,
+        List<WinnerOutcome> results
+) {}
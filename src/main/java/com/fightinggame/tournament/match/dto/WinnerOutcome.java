@@ -0,0 +1,12 @@
+package com.fightinggame.tournament.match.dto;
+
+/**
+ * Outcome of one result of a batch submission
+ * @param message reason of the rejection, null otherwise
+ */
+public record WinnerOutcome(
+        int matchReferenceValue,
+        int playerId,
+        WinnerOutcomeStatus status,
+        String message
+) {}
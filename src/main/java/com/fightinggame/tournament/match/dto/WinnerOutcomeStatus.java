@@ -0,0 +1,8 @@
+package com.fightinggame.tournament.match.dto;
+
+public enum WinnerOutcomeStatus {
+    APPLIED,      // Winner set and committed
+    UNCHANGED,    // The player was already the winner
+    REJECTED,     // Invalid result, the whole batch was discarded
+    DISCARDED     // Valid result, not committed because another one was rejected
+}
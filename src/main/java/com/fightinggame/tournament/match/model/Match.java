@@ -1,8 +1,10 @@
 package com.fightinggame.tournament.match.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fightinggame.tournament.player.model.Player;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Data
@@ -19,6 +21,16 @@ public class Match {
     private Match leftMatch;
     private Match rightMatch;
 
+    // Back link to the next match, kept out of JSON and equals to avoid cycles
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private Match parentMatch;
+
+    // Latest published immutable image of this match, only replaced by the bracket writer
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private MatchSnapshot snapshot;
+
     public String toString () {
         return "Match (" +
                 "referenceValue: " + referenceValue +
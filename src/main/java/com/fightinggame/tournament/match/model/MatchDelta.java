@@ -0,0 +1,18 @@
+package com.fightinggame.tournament.match.model;
+
+import com.fightinggame.tournament.player.model.Player;
+
+/**
+ * New state of a single match after a result change: its occupants and winner, without the subtrees.
+ */
+public record MatchDelta(
+        int referenceValue,
+        Player player1,
+        Player player2,
+        Player winner
+) {
+
+    public static MatchDelta of(MatchSnapshot match) {
+        return new MatchDelta(match.referenceValue(), match.player1(), match.player2(), match.winner());
+    }
+}
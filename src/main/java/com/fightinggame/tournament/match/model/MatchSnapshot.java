@@ -0,0 +1,28 @@
+package com.fightinggame.tournament.match.model;
+
+import com.fightinggame.tournament.player.model.Player;
+
+/**
+ * Immutable image of a match, serialized with the same shape as {@link Match}.
+ * Snapshots of unchanged subtrees are shared between bracket versions.
+ */
+public record MatchSnapshot(
+        int referenceValue,
+        Player player1,
+        Player player2,
+        Player winner,
+        MatchSnapshot leftMatch,
+        MatchSnapshot rightMatch
+) {
+
+    public static MatchSnapshot of(Match match, MatchSnapshot leftMatch, MatchSnapshot rightMatch) {
+        return new MatchSnapshot(
+                match.getReferenceValue(),
+                match.getPlayer1(),
+                match.getPlayer2(),
+                match.getWinner(),
+                leftMatch,
+                rightMatch
+        );
+    }
+}
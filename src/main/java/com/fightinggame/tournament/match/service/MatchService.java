@@ -1,20 +1,53 @@
 package com.fightinggame.tournament.match.service;
 
+import com.fightinggame.tournament.bracket.dto.BracketChangeEvent;
 import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.JournalEntry;
+import com.fightinggame.tournament.bracket.model.JournalOperation;
 import com.fightinggame.tournament.bracket.service.BracketService;
+import com.fightinggame.tournament.bracket.service.util.BracketEventBroadcaster;
+import com.fightinggame.tournament.bracket.service.util.BracketWriteBehind;
+import com.fightinggame.tournament.bracket.service.util.MatchJournal;
+import com.fightinggame.tournament.exception.model.BracketNotFoundException;
 import com.fightinggame.tournament.exception.model.MatchNotFoundException;
+import com.fightinggame.tournament.match.dto.SelectWinnerRequest;
+import com.fightinggame.tournament.match.dto.WinnerBatchResponse;
+import com.fightinggame.tournament.match.dto.WinnerOutcome;
+import com.fightinggame.tournament.match.dto.WinnerOutcomeStatus;
 import com.fightinggame.tournament.match.model.Match;
+import com.fightinggame.tournament.match.model.MatchDelta;
+import com.fightinggame.tournament.match.model.MatchSnapshot;
 import com.fightinggame.tournament.player.model.Player;
 import com.fightinggame.tournament.shared.MatchOperator;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.IntStream;
+
+/**
+ * Applies match results to a bracket. Writes to the same bracket are serialized by the bracket lock,
+ * so concurrent result submissions never lose an advancement, while different brackets don't wait on each other.
+ * Every change ends publishing a new immutable snapshot, which is what readers get, a delta event for
+ * stream subscribers and a write-behind mark for storage (both handed off without waiting on them).
+ * Applied results are also appended to the match journal under the lock, in version order, while waiting for
+ * the journal to reach the disk happens after releasing it, so writers of one bracket share the same fsync.
+ */
 @AllArgsConstructor
 @Service
 public class MatchService {
 
     private final BracketService bracketService;
     private final MatchOperator bracketOperator;
+    private final BracketEventBroadcaster bracketEventBroadcaster;
+    private final BracketWriteBehind bracketWriteBehind;
+    private final MatchJournal matchJournal;
+
+    // Bounds the time a batch holds the bracket lock
+    public static final int MAX_BATCH_SIZE = 1024;
 
     /**
      * Advances the winning player to the next match in the bracket.
@@ -25,31 +58,209 @@ public class MatchService {
      * @throws IllegalArgumentException if player not in match
      * */
     public void selectWinner (int matchReferenceValue, int playerId) {
+        selectWinner(bracketService.getCurrentBracketForUpdate(), matchReferenceValue, playerId);
+    }
+
+    /**
+     * Advances the winning player to the next match of a specific bracket.
+     * @param bracketId Identifier for the target bracket
+     * @param matchReferenceValue Identifier for the target match
+     * @param playerId ID of the winning player
+     * @throws BracketNotFoundException if bracket doesn't exist
+     * */
+    public void selectWinner (long bracketId, int matchReferenceValue, int playerId) {
+        selectWinner(bracketService.getBracketForUpdate(bracketId), matchReferenceValue, playerId);
+    }
+
+    private void selectWinner (Bracket bracket, int matchReferenceValue, int playerId) {
 
-        Bracket bracket = bracketService.getCurrentBracket().bracket(); // Get the current bracket
         validateBracket(bracket);
 
-        Match match = bracketOperator.searchMatch(bracket, matchReferenceValue);    // Get the selected match
-        validateMatchPlayers(match, playerId);
-        if (match.getPlayer1() == null || match.getPlayer2() == null) {
+        long journalPosition = 0;
+        StampedLock lock = bracket.getLock();
+        long stamp = lock.writeLock();
+        try {
+            validateNotDeleted(bracket);
+            Match match = bracketOperator.searchMatch(bracket, matchReferenceValue);    // Get the selected match
+            List<Match> touched = new ArrayList<>();
+            if (applyWinner(bracket, match, playerId, touched)) {
+                publishChange(bracket, touched);
+                journalPosition = matchJournal.append(
+                        JournalEntry.of(JournalOperation.SELECT_WINNER, bracket, matchReferenceValue, playerId));
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        matchJournal.awaitDurable(journalPosition);
+    }
+
+    /**
+     * @param touched collects the matches changed by this result
+     * @return false if the player was already the winner, so nothing changed
+     */
+    private boolean applyWinner (Bracket bracket, Match match, int playerId, List<Match> touched) {
+
+        if (match != null && (match.getPlayer1() == null || match.getPlayer2() == null)) {
             throw new IllegalStateException("Match must have two players to select a winner");
         }
+        validateMatchPlayers(match, playerId);
 
         Player selectedPlayer = getSelectedPlayer(playerId, match);
         long otherPlayerId = getOtherPlayerId(playerId, match);
 
         if (match.getWinner() != null) {    // if there is a winner already, check ...
-            if (match.getWinner().getId() == playerId) return;          // if the same player is selected as winner, then end the method
+            if (match.getWinner().getId() == playerId) return false;    // if the same player is selected as winner, then end the method
+            else if (bracket.isDoubleElimination()) {                  // if not, then void the previous result and what followed it
+                bracketOperator.clearResult(bracket, match, touched);
+            }
             else {                                                      // if not, then clear the other player wins along the bracket
-                bracketOperator.clearPlayerWins(bracket, matchReferenceValue, otherPlayerId);
+                bracketOperator.clearPlayerWins(bracket, match.getReferenceValue(), otherPlayerId);
             }
         }
 
         match.setWinner(selectedPlayer);        // Set the selected player as winner
+        if (bracket.isDoubleElimination()) {    // Winner to the next match, loser to the drop table match
+            bracketOperator.advanceResult(bracket, match, touched);
+            return true;
+        }
         if (match != bracket.getRootMatch()) {  // If not the final match, then move the winner to the next match
             Match nextMatch = bracketOperator.searchParentMatch(bracket, match.getReferenceValue());
             bracketOperator.allocateWinner(nextMatch, match);
         }
+        addPath(match, touched);                // Single elimination changes never leave the path to the finals
+        return true;
+    }
+
+    private void addPath (Match match, List<Match> touched) {
+        for (Match matchPointer = match; matchPointer != null; matchPointer = matchPointer.getParentMatch()) {
+            touched.add(matchPointer);
+        }
+    }
+
+
+    /**
+     * Applies several results to the current bracket as one change.
+     * @param requests Results to apply, at most {@value #MAX_BATCH_SIZE}
+     * @return outcome of every result, in request order
+     * @throws IllegalStateException if bracket not initialized
+     * @throws IllegalArgumentException if the batch is empty or too large
+     */
+    public WinnerBatchResponse selectWinners (List<SelectWinnerRequest> requests) {
+        return selectWinners(bracketService.getCurrentBracketForUpdate(), requests);
+    }
+
+    /**
+     * Applies several results to a specific bracket as one change.
+     * @param bracketId Identifier for the target bracket
+     * @param requests Results to apply, at most {@value #MAX_BATCH_SIZE}
+     * @return outcome of every result, in request order
+     * @throws BracketNotFoundException if bracket doesn't exist
+     */
+    public WinnerBatchResponse selectWinners (long bracketId, List<SelectWinnerRequest> requests) {
+        return selectWinners(bracketService.getBracketForUpdate(bracketId), requests);
+    }
+
+    /**
+     * All results are applied under a single lock acquisition, earlier rounds first, so a batch can hold a match
+     * result and the result of the match its winner moves to. The live tree is only visible through the published
+     * snapshot: if any result is rejected the touched matches are restored from their published images and
+     * nothing is published, otherwise the whole batch becomes one new version and one change event.
+     */
+    private WinnerBatchResponse selectWinners (Bracket bracket, List<SelectWinnerRequest> requests) {
+
+        validateBracket(bracket);
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch must have between 1 and " + MAX_BATCH_SIZE + " results");
+        }
+
+        WinnerOutcomeStatus[] statuses = new WinnerOutcomeStatus[requests.size()];
+        String[] messages = new String[requests.size()];
+        long version;
+        long journalPosition = 0;
+
+        StampedLock lock = bracket.getLock();
+        long stamp = lock.writeLock();
+        try {
+            validateNotDeleted(bracket);
+            if (bracket.getSnapshot() == null) {
+                bracketOperator.publishSnapshot(bracket);   // The published images are what a rejected batch goes back to
+            }
+            List<Match> touched = new ArrayList<>();
+            List<SelectWinnerRequest> applied = new ArrayList<>();
+            boolean rejected = false;
+
+            for (int index : bracketOrder(bracket, requests)) {
+                SelectWinnerRequest request = requests.get(index);
+                Match match = bracketOperator.searchMatch(bracket, request.matchReferenceValue());
+                try {
+                    if (applyWinner(bracket, match, request.playerId(), touched)) {
+                        statuses[index] = WinnerOutcomeStatus.APPLIED;
+                        applied.add(request);
+                    } else {
+                        statuses[index] = WinnerOutcomeStatus.UNCHANGED;
+                    }
+                } catch (MatchNotFoundException | IllegalArgumentException | IllegalStateException e) {
+                    statuses[index] = WinnerOutcomeStatus.REJECTED;
+                    messages[index] = e.getMessage();
+                    rejected = true;
+                }
+            }
+
+            if (rejected) {
+                touched.forEach(this::restorePublishedState);
+                for (int i = 0; i < statuses.length; i++) {
+                    if (statuses[i] == WinnerOutcomeStatus.APPLIED) statuses[i] = WinnerOutcomeStatus.DISCARDED;
+                }
+            } else if (!touched.isEmpty()) {
+                publishChange(bracket, touched);
+                // In the order they were applied, replaying them as one batch gives the same version
+                journalPosition = matchJournal.append(applied.stream()
+                        .map(request -> JournalEntry.of(JournalOperation.SELECT_WINNER, bracket,
+                                request.matchReferenceValue(), request.playerId()))
+                        .toList());
+            }
+            version = bracket.getVersion();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        matchJournal.awaitDurable(journalPosition);
+
+        List<WinnerOutcome> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            SelectWinnerRequest request = requests.get(i);
+            results.add(new WinnerOutcome(request.matchReferenceValue(), request.playerId(), statuses[i], messages[i]));
+        }
+        boolean committed = results.stream().noneMatch(result -> result.status() == WinnerOutcomeStatus.REJECTED);
+        return new WinnerBatchResponse(committed, version, results);
+    }
+
+    /**
+     * Request indexes sorted by round, keeping the request order for results of the same match.
+     * Winners bracket matches go first by round (height of the match is the number of trailing zeros of its
+     * reference value). Losers bracket matches follow by reference value, they are laid out round by round
+     * from numOfSpaces on and end with the grand finals and the reset.
+     */
+    private int[] bracketOrder (Bracket bracket, List<SelectWinnerRequest> requests) {
+        int numOfSpaces = bracket.getMatches() != null ? bracket.getMatches().length : Integer.MAX_VALUE;
+        return IntStream.range(0, requests.size())
+                .boxed()
+                .sorted(Comparator
+                        .comparingLong((Integer i) -> roundKey(requests.get(i).matchReferenceValue(), numOfSpaces))
+                        .thenComparingInt(i -> requests.get(i).matchReferenceValue()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private long roundKey (int matchReferenceValue, int numOfSpaces) {
+        if (matchReferenceValue >= numOfSpaces) return Integer.SIZE + (long) matchReferenceValue - numOfSpaces;
+        return Integer.numberOfTrailingZeros(matchReferenceValue);
+    }
+
+    private void restorePublishedState (Match match) {
+        MatchSnapshot published = match.getSnapshot();
+        match.setPlayer1(published.player1());
+        match.setPlayer2(published.player2());
+        match.setWinner(published.winner());
     }
 
 
@@ -62,10 +273,40 @@ public class MatchService {
      * @throws IllegalArgumentException if player wasn't the winner
      */
     public void deselectWinner (int matchReferenceValue, int playerId) {
+        deselectWinner(bracketService.getCurrentBracketForUpdate(), matchReferenceValue, playerId);
+    }
+
+    /**
+     * Reverts a previously selected winner in a match of a specific bracket.
+     * @param bracketId Identifier for the target bracket
+     * @param matchReferenceValue Identifier for the target match
+     * @param playerId ID of the player to deselect
+     * @throws BracketNotFoundException if bracket doesn't exist
+     */
+    public void deselectWinner (long bracketId, int matchReferenceValue, int playerId) {
+        deselectWinner(bracketService.getBracketForUpdate(bracketId), matchReferenceValue, playerId);
+    }
+
+    private void deselectWinner (Bracket bracket, int matchReferenceValue, int playerId) {
 
-        Bracket bracket = bracketService.getCurrentBracket().bracket(); // Get the current bracket
         validateBracket(bracket);
 
+        long journalPosition;
+        StampedLock lock = bracket.getLock();
+        long stamp = lock.writeLock();
+        try {
+            validateNotDeleted(bracket);
+            revertWinner(bracket, matchReferenceValue, playerId);
+            journalPosition = matchJournal.append(
+                    JournalEntry.of(JournalOperation.DESELECT_WINNER, bracket, matchReferenceValue, playerId));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        matchJournal.awaitDurable(journalPosition);
+    }
+
+    private void revertWinner (Bracket bracket, int matchReferenceValue, int playerId) {
+
         Match match = bracketOperator.searchMatch(bracket, matchReferenceValue);    // Get the selected match
         validateMatchPlayers(match, playerId);
         if (match.getWinner() == null) {
@@ -75,7 +316,21 @@ public class MatchService {
             throw new IllegalArgumentException("Mismatch between winner id and player id values");
         }
 
-        bracketOperator.clearPlayerWins(bracket, matchReferenceValue, playerId);
+        List<Match> touched = new ArrayList<>();
+        if (bracket.isDoubleElimination()) {
+            bracketOperator.clearResult(bracket, match, touched);
+        } else {
+            bracketOperator.clearPlayerWins(bracket, matchReferenceValue, playerId);
+            addPath(match, touched);
+        }
+        publishChange(bracket, touched);
+    }
+
+    private void publishChange (Bracket bracket, List<Match> touched) {
+        // Readers get the new version with the edited paths copied, still under the lock so events keep version order
+        List<MatchDelta> changes = bracketOperator.publishPaths(bracket, touched);
+        bracketEventBroadcaster.publish(new BracketChangeEvent(bracket.getId(), bracket.getVersion(), changes));
+        bracketWriteBehind.markDirty(bracket);
     }
 
     private Player getSelectedPlayer (int playerId, Match match) {
@@ -109,4 +364,11 @@ public class MatchService {
         }
     }
 
+    // Called under the write lock: a delete that got the lock first leaves nothing to write to
+    private void validateNotDeleted(Bracket bracket) {
+        if (bracket.isDeleted()) {
+            throw new BracketNotFoundException("There is no bracket with id " + bracket.getId());
+        }
+    }
+
 }
@@ -1,14 +1,24 @@
 package com.fightinggame.tournament.player.controller;
 
+import com.fightinggame.tournament.player.dto.PlayerCacheStats;
+import com.fightinggame.tournament.player.dto.PlayerImportResponse;
+import com.fightinggame.tournament.player.dto.PlayerOrder;
+import com.fightinggame.tournament.player.dto.PlayerPageResponse;
 import com.fightinggame.tournament.player.dto.PlayerRequest;
 import com.fightinggame.tournament.player.dto.PlayerResponse;
+import com.fightinggame.tournament.player.service.PlayerImportService;
 import com.fightinggame.tournament.player.service.PlayerService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -22,6 +32,9 @@ public class PlayerController {
     @Autowired
     private PlayerService playerService;
 
+    @Autowired
+    private PlayerImportService playerImportService;
+
     /**
      * Registers a new player.
      * @param request Player details (name, rating, etc.)
@@ -33,6 +46,20 @@ public class PlayerController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Registers players from a sign-up export, read while it is uploaded.
+     * @param contentType text/csv (optional "nickname,rating" header) or application/x-ndjson (one PlayerRequest per line)
+     * @param body Raw request body
+     * @return 201 Created with the number of imported players and the rejected lines
+     */
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<PlayerImportResponse> importPlayers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        PlayerImportResponse response = playerImportService.importPlayers(body, MediaType.parseMediaType(contentType));
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     /**
      * Retrieves a specific player's information.
      * @param id Player's unique identifier
@@ -53,6 +80,43 @@ public class PlayerController {
         return ResponseEntity.ok(players);
     }
 
+    /**
+     * Lists players one page at a time, continuing after the last player of the previous page.
+     * @param orderBy ID (default) or RATING, highest first
+     * @param afterId nextAfterId of the previous page, absent for the first page
+     * @param afterRating nextAfterRating of the previous page when ordered by rating
+     * @param limit Page size, up to 1000
+     * @return 200 OK with the page and the cursor of the next one
+     */
+    @GetMapping("/page")
+    public ResponseEntity<PlayerPageResponse> getPlayerPage(
+            @RequestParam(defaultValue = "ID") PlayerOrder orderBy,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer afterRating,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(playerService.getPlayerPage(orderBy, afterId, afterRating, limit));
+    }
+
+    /**
+     * Exports every player as NDJSON, written while it is read from the database.
+     * @return 200 OK with one player per line
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportPlayers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(playerService::exportPlayers);
+    }
+
+    /**
+     * Player cache counters, to tune its size and TTL.
+     * @return 200 OK with hits, misses, evictions and size
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<PlayerCacheStats> getCacheStats() {
+        return ResponseEntity.ok(playerService.getCacheStats());
+    }
+
     /**
      * Updates player details.
      * @param id Player's unique identifier
@@ -0,0 +1,13 @@
+package com.fightinggame.tournament.player.dto;
+
+/**
+ * @param evictions entries dropped for size or age (invalidations by writes aren't counted)
+ * @param size players cached by id, the roster isn't counted
+ */
+public record PlayerCacheStats(
+        long hits,
+        long misses,
+        long evictions,
+        int size,
+        boolean rosterCached
+) {}
@@ -0,0 +1,9 @@
+package com.fightinggame.tournament.player.dto;
+
+/**
+ * @param line line of the imported file, starting at 1
+ */
+public record PlayerImportError(
+        long line,
+        String message
+) {}
@@ -0,0 +1,12 @@
+package com.fightinggame.tournament.player.dto;
+
+import java.util.List;
+
+/**
+ * @param errors first rejected lines, capped so a broken file doesn't produce a huge response
+ */
+public record PlayerImportResponse(
+        int imported,
+        int rejected,
+        List<PlayerImportError> errors
+) {}
@@ -0,0 +1,6 @@
+package com.fightinggame.tournament.player.dto;
+
+public enum PlayerOrder {
+    ID,
+    RATING      // Highest first
+}
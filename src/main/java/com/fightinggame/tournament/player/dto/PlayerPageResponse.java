@@ -0,0 +1,13 @@
+package com.fightinggame.tournament.player.dto;
+
+import java.util.List;
+
+/**
+ * @param nextAfterId afterId of the next page, null on the last page
+ * @param nextAfterRating afterRating of the next page, null on the last page or when ordered by id
+ */
+public record PlayerPageResponse(
+        List<PlayerResponse> players,
+        Long nextAfterId,
+        Integer nextAfterRating
+) {}
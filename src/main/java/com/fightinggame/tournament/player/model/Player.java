@@ -4,6 +4,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,10 +17,13 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table (indexes = @Index(name = "idx_player_rating_id", columnList = "rating, id"))    // Keyset listing by rating
 public class Player implements Comparable<Player> {
 
+    // Pooled sequence: Hibernate reserves a block of ids per database call, so inserts can be batched
     @Id
-    @GeneratedValue (strategy = GenerationType.IDENTITY)
+    @GeneratedValue (strategy = GenerationType.SEQUENCE, generator = "player_seq")
+    @SequenceGenerator (name = "player_seq", sequenceName = "player_seq", allocationSize = 50)
     private long id;
 
     private String nickname;
@@ -1,7 +1,63 @@
 package com.fightinggame.tournament.player.repository;
 
+import com.fightinggame.tournament.player.dto.PlayerResponse;
 import com.fightinggame.tournament.player.model.Player;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Listing queries select DTOs instead of entities, so rows are never tracked by the persistence context
+ */
 public interface PlayerRepository extends JpaRepository<Player, Long> {
+
+    /**
+     * Every player, ordered by id
+     */
+    @Query("select new com.fightinggame.tournament.player.dto.PlayerResponse(p.id, p.nickname, p.rating) " +
+            "from Player p order by p.id")
+    List<PlayerResponse> findAllResponses();
+
+    /**
+     * Entrants of a tournament built straight from the columns the bracket uses, the instances aren't managed
+     */
+    @Query("select new com.fightinggame.tournament.player.model.Player(p.id, p.nickname, p.rating) " +
+            "from Player p where p.id in :ids order by p.id")
+    List<Player> findEntrantsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset page ordered by id
+     * @param afterId last id of the previous page, 0 for the first one
+     */
+    @Query("select new com.fightinggame.tournament.player.dto.PlayerResponse(p.id, p.nickname, p.rating) " +
+            "from Player p where p.id > :afterId order by p.id")
+    List<PlayerResponse> findPageOrderById(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Keyset page ordered by rating (highest first), ties by id
+     * @param afterRating rating of the last player of the previous page, {@link Integer#MAX_VALUE} for the first one
+     * @param afterId id of the last player of the previous page, 0 for the first one
+     */
+    @Query("select new com.fightinggame.tournament.player.dto.PlayerResponse(p.id, p.nickname, p.rating) " +
+            "from Player p where p.rating < :afterRating or (p.rating = :afterRating and p.id > :afterId) " +
+            "order by p.rating desc, p.id")
+    List<PlayerResponse> findPageOrderByRating(@Param("afterRating") int afterRating,
+                                               @Param("afterId") long afterId,
+                                               Limit limit);
+
+    /**
+     * Every player ordered by id, read from a database cursor. Must be consumed and closed inside a transaction.
+     */
+    @Query("select new com.fightinggame.tournament.player.dto.PlayerResponse(p.id, p.nickname, p.rating) " +
+            "from Player p order by p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<PlayerResponse> streamAll();
 }
@@ -0,0 +1,117 @@
+package com.fightinggame.tournament.player.service;
+
+import com.fightinggame.tournament.player.dto.PlayerImportError;
+import com.fightinggame.tournament.player.dto.PlayerImportResponse;
+import com.fightinggame.tournament.player.dto.PlayerRequest;
+import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.player.repository.PlayerRepository;
+import com.fightinggame.tournament.player.service.util.PlayerCache;
+import com.fightinggame.tournament.player.service.util.PlayerRecordReader;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Imports registration exports (thousands of rows) while they are uploaded.
+ * Rows are validated like single registrations and persisted in JDBC batches, invalid rows are skipped and reported.
+ */
+@Service
+public class PlayerImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final PlayerRepository playerRepository;
+    private final PlayerRecordReader playerRecordReader;
+    private final PlayerCache playerCache;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public PlayerImportService(PlayerRepository playerRepository,
+                               PlayerRecordReader playerRecordReader,
+                               PlayerCache playerCache,
+                               Validator validator,
+                               EntityManager entityManager,
+                               @Value("${tournament.import.batch-size:500}") int batchSize) {
+        this.playerRepository = playerRepository;
+        this.playerRecordReader = playerRecordReader;
+        this.playerCache = playerCache;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads and persists every valid row in a single transaction, a database failure imports nothing
+     * @param type text/csv or application/x-ndjson
+     */
+    @Transactional
+    public PlayerImportResponse importPlayers(InputStream body, MediaType type) throws IOException {
+
+        // Imported players are only visible once committed, so the roster is dropped after the commit
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                playerCache.invalidateRoster();
+            }
+        });
+
+        List<Player> batch = new ArrayList<>(batchSize);
+        List<PlayerImportError> errors = new ArrayList<>();
+        int[] counts = new int[2];      // Imported and rejected rows
+
+        playerRecordReader.read(body, type, new PlayerRecordReader.PlayerRecordHandler() {
+            @Override
+            public void accept(long line, PlayerRequest request) {
+                Set<ConstraintViolation<PlayerRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    reject(line, violations.iterator().next().getMessage());
+                    return;
+                }
+
+                batch.add(Player.builder()
+                        .nickname(request.nickname())
+                        .rating(request.rating())
+                        .build());
+                if (batch.size() == batchSize) {
+                    counts[0] += flush(batch);
+                }
+            }
+
+            @Override
+            public void reject(long line, String message) {
+                counts[1]++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new PlayerImportError(line, message));
+                }
+            }
+        });
+        counts[0] += flush(batch);
+
+        return new PlayerImportResponse(counts[0], counts[1], errors);
+    }
+
+    // Sends the batch to the database and detaches it, so the persistence context doesn't grow with the file
+    private int flush(List<Player> batch) {
+        int size = batch.size();
+        if (size == 0) return 0;
+
+        playerRepository.saveAll(batch);
+        entityManager.flush();
+        entityManager.clear();
+        batch.clear();
+        return size;
+    }
+}
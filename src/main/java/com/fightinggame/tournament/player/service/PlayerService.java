@@ -1,22 +1,43 @@
 package com.fightinggame.tournament.player.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fightinggame.tournament.player.dto.PlayerCacheStats;
+import com.fightinggame.tournament.player.dto.PlayerOrder;
+import com.fightinggame.tournament.player.dto.PlayerPageResponse;
 import com.fightinggame.tournament.player.dto.PlayerRequest;
 import com.fightinggame.tournament.player.dto.PlayerResponse;
 import com.fightinggame.tournament.player.model.Player;
 import com.fightinggame.tournament.player.repository.PlayerRepository;
+import com.fightinggame.tournament.player.service.util.PlayerCache;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class PlayerService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final PlayerRepository playerRepository;
+    private final ObjectMapper objectMapper;
+    private final PlayerCache playerCache;
 
-    public PlayerService(PlayerRepository playerRepository) {
+    public PlayerService(PlayerRepository playerRepository, ObjectMapper objectMapper, PlayerCache playerCache) {
         this.playerRepository = playerRepository;
+        this.objectMapper = objectMapper;
+        this.playerCache = playerCache;
     }
 
     public PlayerResponse createPlayer(PlayerRequest request) {
@@ -25,19 +46,106 @@ public class PlayerService {
                 .rating(request.rating())
                 .build();
 
-        Player savedPlayer = playerRepository.save(player);
-        return PlayerResponse.fromEntity(savedPlayer);
+        PlayerResponse savedPlayer = PlayerResponse.fromEntity(playerRepository.save(player));
+        playerCache.put(savedPlayer);
+        return savedPlayer;
     }
 
     public Optional<PlayerResponse> getPlayerById(long id) {
-        return playerRepository.findById(id)
-                .map(PlayerResponse::fromEntity);
+        return playerCache.get(id, playerId -> playerRepository.findById(playerId)
+                .map(PlayerResponse::fromEntity));
     }
 
+    /**
+     * @return every registered player, served from the cache (unmodifiable)
+     */
     public List<PlayerResponse> getAllPlayers() {
-        return playerRepository.findAll().stream()
-                .map(PlayerResponse::fromEntity)
-                .collect(Collectors.toList());
+        return playerCache.getRoster(playerRepository::findAllResponses);
+    }
+
+    /**
+     * Players ready for a tournament initializer, built in a single pass without loading entities
+     * @param playerIds entrants of the tournament, every registered player when null
+     * @throws IllegalArgumentException if some id isn't a registered player
+     */
+    public List<Player> getEntrants(Collection<Long> playerIds) {
+        if (playerIds == null) {
+            List<PlayerResponse> roster = getAllPlayers();
+            List<Player> players = new ArrayList<>(roster.size());
+            for (PlayerResponse player : roster) {
+                players.add(new Player(player.id(), player.nickname(), player.rating()));
+            }
+            return players;
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(playerIds);
+        List<Player> players = playerRepository.findEntrantsByIdIn(ids);
+        if (players.size() != ids.size()) {
+            for (Player player : players) {
+                ids.remove(player.getId());
+            }
+            throw new IllegalArgumentException("Unknown player ids " + ids);
+        }
+        return players;
+    }
+
+    public PlayerCacheStats getCacheStats() {
+        return playerCache.getStats();
+    }
+
+    /**
+     * Keyset pagination: the page starts right after the given player, so deep pages cost the same as the first
+     * @param afterId id of the last player of the previous page, null for the first page
+     * @param afterRating rating of the last player of the previous page, only used when ordered by rating
+     * @throws IllegalArgumentException if the limit isn't between 1 and {@link #MAX_PAGE_SIZE},
+     *                                  or only one of the rating cursor fields is given when ordered by rating
+     */
+    public PlayerPageResponse getPlayerPage(PlayerOrder order, Long afterId, Integer afterRating, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("The page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // Half a cursor would restart from the top rating and return an overlapping page
+        if (order == PlayerOrder.RATING && (afterId == null) != (afterRating == null)) {
+            throw new IllegalArgumentException("afterId and afterRating must be given together when ordered by rating");
+        }
+
+        // One extra row tells if there is a next page
+        Limit fetch = Limit.of(limit + 1);
+        long fromId = afterId != null ? afterId : 0;
+        List<PlayerResponse> players = order == PlayerOrder.RATING
+                ? playerRepository.findPageOrderByRating(afterRating != null ? afterRating : Integer.MAX_VALUE, fromId, fetch)
+                : playerRepository.findPageOrderById(fromId, fetch);
+
+        if (players.size() <= limit) {
+            return new PlayerPageResponse(players, null, null);
+        }
+        players = players.subList(0, limit);
+        PlayerResponse last = players.get(limit - 1);
+        return new PlayerPageResponse(players, last.id(), order == PlayerOrder.RATING ? last.rating() : null);
+    }
+
+    /**
+     * Writes every player as NDJSON (the bulk import format) while the rows come off the database cursor
+     */
+    @Transactional(readOnly = true)
+    public void exportPlayers(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);     // The stream belongs to the caller
+        generator.setRootValueSeparator(null);                         // Lines are split by the newline only
+
+        try (Stream<PlayerResponse> players = playerRepository.streamAll()) {
+            Iterator<PlayerResponse> iterator = players.iterator();
+            while (iterator.hasNext()) {
+                PlayerResponse player = iterator.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", player.id());
+                generator.writeStringField("nickname", player.nickname());
+                generator.writeNumberField("rating", player.rating());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+        generator.close();
     }
 
     public Optional<PlayerResponse> updatePlayer(long id, PlayerRequest request) {
@@ -48,12 +156,15 @@ public class PlayerService {
                             .nickname(request.nickname())
                             .rating(request.rating())
                             .build();
-                    return PlayerResponse.fromEntity(playerRepository.save(updated));
+                    PlayerResponse savedPlayer = PlayerResponse.fromEntity(playerRepository.save(updated));
+                    playerCache.invalidate(id);
+                    return savedPlayer;
                 });
     }
 
     public void deletePlayer(long id) {
         playerRepository.deleteById(id);
+        playerCache.invalidate(id);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.fightinggame.tournament.player.service.util;
+
+import com.fightinggame.tournament.player.dto.PlayerCacheStats;
+import com.fightinggame.tournament.player.dto.PlayerResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of players by id plus the full roster, bounded by size (least recently used first) and age.
+ *
+ * <p>Loads run outside the lock. Every invalidation bumps a generation number, and a load only stores its
+ * result if no write happened since it started, so a read racing with a write can't cache the old value.
+ */
+@Component
+public class PlayerCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    // Access order, the eldest entry is the least recently used
+    private final LinkedHashMap<Long, Entry<PlayerResponse>> players = new LinkedHashMap<>(16, 0.75f, true);
+    private Entry<List<PlayerResponse>> roster;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public PlayerCache(@Value("${tournament.player-cache.max-size:10000}") int maxSize,
+                       @Value("${tournament.player-cache.ttl-seconds:300}") long ttlSeconds) {
+        this(maxSize, TimeUnit.SECONDS.toNanos(ttlSeconds), System::nanoTime);
+    }
+
+    PlayerCache(int maxSize, long ttlNanos, LongSupplier clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The player cache needs room for at least one player");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * @param loader reads the player from the database, an absent player isn't cached
+     */
+    public Optional<PlayerResponse> get(long id, LongFunction<Optional<PlayerResponse>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<PlayerResponse> entry = players.get(id);
+            if (entry != null && !isExpired(entry)) {
+                hits.increment();
+                return Optional.of(entry.value());
+            }
+            if (entry != null) {
+                players.remove(id);
+                evictions.increment();
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+
+        Optional<PlayerResponse> player = loader.apply(id);
+        player.ifPresent(value -> store(value, loadGeneration));
+        return player;
+    }
+
+    /**
+     * @param loader reads every player from the database
+     * @return the cached roster, unmodifiable
+     */
+    public List<PlayerResponse> getRoster(Supplier<List<PlayerResponse>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            if (roster != null && !isExpired(roster)) {
+                hits.increment();
+                return roster.value();
+            }
+            if (roster != null) {
+                roster = null;
+                evictions.increment();
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+
+        List<PlayerResponse> loaded = List.copyOf(loader.get());
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                roster = new Entry<>(loaded, clock.getAsLong() + ttlNanos);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Caches a player that was just written, the roster no longer matches the database
+     */
+    public synchronized void put(PlayerResponse player) {
+        generation++;
+        roster = null;
+        store(player, generation);
+    }
+
+    /**
+     * Drops a changed or deleted player and the roster
+     */
+    public synchronized void invalidate(long id) {
+        generation++;
+        roster = null;
+        players.remove(id);
+    }
+
+    /**
+     * Drops the roster only, for writes that add players without changing cached ones
+     */
+    public synchronized void invalidateRoster() {
+        generation++;
+        roster = null;
+    }
+
+    public synchronized PlayerCacheStats getStats() {
+        return new PlayerCacheStats(hits.sum(), misses.sum(), evictions.sum(), players.size(), roster != null);
+    }
+
+    private synchronized void store(PlayerResponse player, long loadGeneration) {
+        if (generation != loadGeneration) return;   // A write happened while loading
+
+        players.put(player.id(), new Entry<>(player, clock.getAsLong() + ttlNanos));
+        Iterator<Map.Entry<Long, Entry<PlayerResponse>>> eldest = players.entrySet().iterator();
+        while (players.size() > maxSize) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private boolean isExpired(Entry<?> entry) {
+        return clock.getAsLong() - entry.expiresAt() >= 0;
+    }
+
+    private record Entry<T>(T value, long expiresAt) {}
+}
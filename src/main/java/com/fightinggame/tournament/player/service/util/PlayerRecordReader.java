@@ -0,0 +1,150 @@
+package com.fightinggame.tournament.player.service.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fightinggame.tournament.player.dto.PlayerRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads player registrations line by line from a CSV or NDJSON stream, so the body is never held in memory.
+ * A bad line is rejected on its own and reading goes on.
+ */
+@Component
+public class PlayerRecordReader {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final ObjectMapper objectMapper;
+
+    public PlayerRecordReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Receives every line of the stream, in order
+     */
+    public interface PlayerRecordHandler {
+
+        void accept(long line, PlayerRequest request);
+
+        void reject(long line, String message);
+    }
+
+    /**
+     * @param type {@link #TEXT_CSV} (optional "nickname,rating" header on the first non-blank line)
+     *             or {@link #APPLICATION_NDJSON}
+     * @throws IllegalArgumentException for other media types, or a CSV header without a nickname column
+     */
+    public void read(InputStream body, MediaType type, PlayerRecordHandler handler) throws IOException {
+
+        boolean csv = TEXT_CSV.isCompatibleWith(type);
+        if (!csv && !APPLICATION_NDJSON.isCompatibleWith(type)) {
+            throw new IllegalArgumentException("Unsupported import format " + type);
+        }
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        int[] columns = {0, 1};     // Nickname and rating positions, the CSV header can swap them
+        boolean first = true;
+        long line = 0;
+        String text;
+
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (line == 1 && text.startsWith(BYTE_ORDER_MARK)) {
+                text = text.substring(1);   // Spreadsheet exports often start with one
+            }
+            if (text.isBlank()) continue;
+
+            boolean header = csv && first && isHeader(text);
+            first = false;
+            if (!csv) {
+                readJson(line, text, handler);
+            } else if (header) {
+                columns = headerColumns(text);
+            } else {
+                readCsv(line, text, columns, handler);
+            }
+        }
+    }
+
+    private void readJson(long line, String text, PlayerRecordHandler handler) {
+        try {
+            handler.accept(line, objectMapper.readValue(text, PlayerRequest.class));
+        } catch (JsonProcessingException e) {
+            handler.reject(line, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private void readCsv(long line, String text, int[] columns, PlayerRecordHandler handler) {
+        List<String> fields = splitCsv(text);
+        if (fields.size() <= columns[0]) {
+            handler.reject(line, "Missing nickname");
+            return;
+        }
+
+        String rating = fields.size() > columns[1] ? fields.get(columns[1]).trim() : "";
+        try {
+            handler.accept(line, new PlayerRequest(fields.get(columns[0]).trim(),
+                    rating.isEmpty() ? 0 : Integer.parseInt(rating)));
+        } catch (NumberFormatException e) {
+            handler.reject(line, "Invalid rating: " + rating);
+        }
+    }
+
+    private boolean isHeader(String text) {
+        List<String> names = splitCsv(text.toLowerCase());
+        return names.contains("nickname") || names.contains("rating");
+    }
+
+    private int[] headerColumns(String text) {
+        List<String> names = splitCsv(text.toLowerCase());
+        int nickname = names.indexOf("nickname");
+        int rating = names.indexOf("rating");
+        if (nickname < 0) {
+            throw new IllegalArgumentException("The CSV header has no nickname column");
+        }
+        return new int[] {nickname, rating >= 0 ? rating : Integer.MAX_VALUE};
+    }
+
+    // Comma separated, double quotes around a field allow commas and "" inside it
+    private List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>(2);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
@@ -0,0 +1,72 @@
+package com.fightinggame.tournament.pool.controller;
+
+import com.fightinggame.tournament.pool.dto.PoolInitializationRequest;
+import com.fightinggame.tournament.pool.dto.PoolResponse;
+import com.fightinggame.tournament.pool.dto.PoolResultRequest;
+import com.fightinggame.tournament.pool.dto.PoolTournamentResponse;
+import com.fightinggame.tournament.pool.service.PoolService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * REST Controller managing round-robin pool stages - creation, results and standings.
+ */
+@RestController
+@RequestMapping ("/pool")
+public class PoolController {
+
+    @Autowired
+    private PoolService poolService;
+
+    /**
+     * Splits every registered player into pools and schedules them.
+     * @param request Contains the maximum pool size (4 to 8)
+     * @return 200 OK with the new pool stage location
+     */
+    @PostMapping
+    public ResponseEntity<Void> createTournament (@RequestBody @Valid PoolInitializationRequest request) {
+        long tournamentId = poolService.createTournament(request);
+
+        return ResponseEntity.ok().location(URI.create("/pool/" + tournamentId)).build();
+    }
+
+    /**
+     * Gets standings and matches of every pool.
+     * @param id Pool stage's unique identifier
+     * @return 200 OK with the pools, 404 if not found
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<PoolTournamentResponse> getTournament (@PathVariable long id) {
+        return ResponseEntity.ok(poolService.getTournament(id));
+    }
+
+    /**
+     * Reports the winner of a pool match.
+     * @param id Pool stage's unique identifier
+     * @param request Contains pool number, match number and winning player ID
+     * @return 200 OK with the updated pool
+     */
+    @PutMapping("/{id}/result")
+    public ResponseEntity<PoolResponse> reportResult (
+            @PathVariable long id,
+            @RequestBody @Valid PoolResultRequest request)
+    {
+        return ResponseEntity.ok(poolService.reportResult(id, request));
+    }
+
+    /**
+     * Removes a finished pool stage from memory.
+     * @param id Pool stage's unique identifier
+     * @return 204 No Content, 404 if not found
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTournament (@PathVariable long id) {
+        poolService.deleteTournament(id);
+
+        return ResponseEntity.noContent().build();
+    }
+}
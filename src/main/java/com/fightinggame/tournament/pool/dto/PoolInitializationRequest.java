@@ -0,0 +1,13 @@
+package com.fightinggame.tournament.pool.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * @param poolSize maximum number of players per pool
+ */
+public record PoolInitializationRequest(
+        @Min(value = 4, message = "Pools must have at least 4 players")
+        @Max(value = 8, message = "Pools must have at most 8 players")
+        int poolSize
+) {}
@@ -0,0 +1,14 @@
+package com.fightinggame.tournament.pool.dto;
+
+import com.fightinggame.tournament.player.dto.PlayerResponse;
+
+/**
+ * @param winnerId null while the result is pending
+ */
+public record PoolMatchResponse(
+        int match,
+        int round,
+        PlayerResponse player1,
+        PlayerResponse player2,
+        Long winnerId
+) {}
@@ -0,0 +1,37 @@
+package com.fightinggame.tournament.pool.dto;
+
+import com.fightinggame.tournament.player.dto.PlayerResponse;
+import com.fightinggame.tournament.pool.model.Pool;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record PoolResponse(
+        int number,
+        boolean complete,
+        List<PoolStandingResponse> standings,
+        List<PoolMatchResponse> matches
+) {
+    public static PoolResponse fromEntity(Pool pool) {
+        int[] ranking = pool.getRanking();
+        List<PoolStandingResponse> standings = new ArrayList<>(pool.size());
+        for (int position = 0; position < ranking.length; position++) {
+            int index = ranking[position];
+            standings.add(new PoolStandingResponse(position + 1,
+                    PlayerResponse.fromEntity(pool.getPlayers()[index]), pool.getWins()[index], pool.getLosses()[index]));
+        }
+
+        List<PoolMatchResponse> matches = new ArrayList<>(pool.getMatches());
+        for (int match = 0; match < pool.getMatches(); match++) {
+            int winner = pool.getWinner()[match];
+            matches.add(new PoolMatchResponse(
+                    match + 1,
+                    pool.getRound()[match],
+                    PlayerResponse.fromEntity(pool.getPlayers()[pool.getPlayer1()[match]]),
+                    PlayerResponse.fromEntity(pool.getPlayers()[pool.getPlayer2()[match]]),
+                    winner != Pool.NONE ? pool.getPlayers()[winner].getId() : null
+            ));
+        }
+        return new PoolResponse(pool.getNumber(), pool.isComplete(), standings, matches);
+    }
+}
@@ -0,0 +1,15 @@
+package com.fightinggame.tournament.pool.dto;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record PoolResultRequest(
+        @Positive
+        int pool,
+
+        @Positive
+        int match,
+
+        @PositiveOrZero
+        long playerId
+) {}
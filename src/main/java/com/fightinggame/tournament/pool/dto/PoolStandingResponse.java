@@ -0,0 +1,10 @@
+package com.fightinggame.tournament.pool.dto;
+
+import com.fightinggame.tournament.player.dto.PlayerResponse;
+
+public record PoolStandingResponse(
+        int rank,
+        PlayerResponse player,
+        int wins,
+        int losses
+) {}
@@ -0,0 +1,8 @@
+package com.fightinggame.tournament.pool.dto;
+
+import java.util.List;
+
+public record PoolTournamentResponse(
+        long id,
+        List<PoolResponse> pools
+) {}
@@ -0,0 +1,123 @@
+package com.fightinggame.tournament.pool.model;
+
+import com.fightinggame.tournament.player.model.Player;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * One round-robin pool. Players are referenced by their local index (pool seed, 0 is the best rated),
+ * matches are parallel arrays ordered by round. The standings are kept sorted as results arrive,
+ * a result only moves the players involved instead of sorting the whole table again.
+ */
+@Getter
+public class Pool {
+
+    public static final int NONE = -1;
+
+    private final int number;
+    private final Player[] players;
+
+    // Schedule, filled by the generator: match i is played in round[i] by player1[i] and player2[i]
+    private int rounds;
+    private int[] round;
+    private int[] player1;
+    private int[] player2;
+    private int[] winner;
+    private int pendingResults;
+
+    private final int[] wins;
+    private final int[] losses;
+
+    // ranking[position] is a local index, rankPosition is its inverse
+    private final int[] ranking;
+    private final int[] rankPosition;
+
+    public Pool(int number, Player[] players) {
+        this.number = number;
+        this.players = players;
+        this.wins = new int[players.length];
+        this.losses = new int[players.length];
+        this.ranking = new int[players.length];
+        this.rankPosition = new int[players.length];
+        for (int index = 0; index < players.length; index++) {
+            ranking[index] = index;
+            rankPosition[index] = index;
+        }
+    }
+
+    public int size() {
+        return players.length;
+    }
+
+    public int getMatches() {
+        return player1 != null ? player1.length : 0;
+    }
+
+    public boolean isComplete() {
+        return pendingResults == 0;
+    }
+
+    public void setSchedule(int rounds, int[] round, int[] player1, int[] player2) {
+        this.rounds = rounds;
+        this.round = round;
+        this.player1 = player1;
+        this.player2 = player2;
+        this.winner = new int[player1.length];
+        Arrays.fill(winner, NONE);
+        this.pendingResults = player1.length;
+    }
+
+    /**
+     * Sets the winner of a match, replacing a previous result, and updates the standings of both players
+     * @return the previous winner or {@link #NONE}
+     */
+    public int setWinner(int match, int index) {
+        int previous = winner[match];
+        if (previous == index) return previous;
+
+        int loser = player1[match] == index ? player2[match] : player1[match];
+        if (previous == NONE) {
+            pendingResults--;
+        } else {
+            // The result is flipped: the new loser had the win
+            wins[loser]--;
+            losses[index]--;
+        }
+        winner[match] = index;
+        wins[index]++;
+        losses[loser]++;
+
+        moveUp(index);
+        moveDown(loser);
+        return previous;
+    }
+
+    private void moveUp(int index) {
+        int position = rankPosition[index];
+        while (position > 0 && ranksAbove(index, ranking[position - 1])) {
+            place(ranking[position - 1], position);
+            position--;
+        }
+        place(index, position);
+    }
+
+    private void moveDown(int index) {
+        int position = rankPosition[index];
+        while (position < ranking.length - 1 && ranksAbove(ranking[position + 1], index)) {
+            place(ranking[position + 1], position);
+            position++;
+        }
+        place(index, position);
+    }
+
+    // More wins first, then the pool seed
+    private boolean ranksAbove(int index, int other) {
+        return wins[index] > wins[other] || (wins[index] == wins[other] && index < other);
+    }
+
+    private void place(int index, int position) {
+        ranking[position] = index;
+        rankPosition[index] = position;
+    }
+}
@@ -0,0 +1,23 @@
+package com.fightinggame.tournament.pool.model;
+
+import lombok.Getter;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A pool stage: every registered player is placed in one pool and plays everyone else in it
+ */
+@Getter
+public class PoolTournament {
+
+    private final long id;
+    private final Pool[] pools;
+
+    // Serializes result submissions on this tournament
+    private final StampedLock lock = new StampedLock();
+
+    public PoolTournament(long id, Pool[] pools) {
+        this.id = id;
+        this.pools = pools;
+    }
+}
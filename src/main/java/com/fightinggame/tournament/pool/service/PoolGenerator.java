@@ -0,0 +1,120 @@
+package com.fightinggame.tournament.pool.service;
+
+import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.pool.model.Pool;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits players into snake-seeded pools and builds their round-robin schedules
+ */
+@Component
+public class PoolGenerator {
+
+    // Pools per fork/join leaf, a schedule of 8 players is only 28 matches
+    private static final int POOLS_PER_TASK = 64;
+
+    /**
+     * Snake seeding by rating: the best players go 1, 2, ..., n across the pools and the next row comes back n, ..., 1,
+     * so every pool gets the same share of strong and weak players. Pool sizes differ by one at most.
+     * @param poolSize the maximum number of players in a pool
+     */
+    public Pool[] generate(List<Player> players, int poolSize) {
+
+        Player[] seeded = players.stream()
+                .sorted(Comparator.comparingInt(Player::getRating).reversed())
+                .toArray(Player[]::new);
+
+        int numOfPools = (seeded.length + poolSize - 1) / poolSize;
+
+        Player[][] members = new Player[numOfPools][];
+        for (int pool = 0; pool < numOfPools; pool++) {
+            // Pools before the remainder get one extra player
+            members[pool] = new Player[seeded.length / numOfPools + (pool < seeded.length % numOfPools ? 1 : 0)];
+        }
+
+        int[] filled = new int[numOfPools];
+        for (int seed = 0; seed < seeded.length; seed++) {
+            int row = seed / numOfPools;
+            int column = seed % numOfPools;
+            int pool = row % 2 == 0 ? column : numOfPools - 1 - column;
+            // The last row is partial, on a reversed row it would skip the first pools, so fill them in order
+            if (filled[pool] == members[pool].length) pool = firstOpen(members, filled);
+            members[pool][filled[pool]++] = seeded[seed];
+        }
+
+        Pool[] pools = new Pool[numOfPools];
+        for (int pool = 0; pool < numOfPools; pool++) {
+            pools[pool] = new Pool(pool + 1, members[pool]);
+        }
+
+        ForkJoinPool.commonPool().invoke(new ScheduleTask(pools, 0, numOfPools));
+        return pools;
+    }
+
+    /**
+     * Circle method: the last player stays in place while the others rotate one position per round.
+     * Odd pools add a phantom player, whoever faces it sits out that round.
+     */
+    public void schedule(Pool pool) {
+        int size = pool.size();
+        int slots = size % 2 == 0 ? size : size + 1;
+        int rounds = slots - 1;
+        int matches = size * (size - 1) / 2;
+
+        int[] round = new int[matches];
+        int[] player1 = new int[matches];
+        int[] player2 = new int[matches];
+
+        int match = 0;
+        for (int r = 0; r < rounds; r++) {
+            for (int slot = 0; slot < slots / 2; slot++) {
+                int home = slot == 0 ? slots - 1 : (r + slot) % rounds;
+                int away = (r - slot + rounds) % rounds;
+                if (home >= size || away >= size) continue;    // Phantom player
+
+                round[match] = r + 1;
+                player1[match] = Math.min(home, away);
+                player2[match] = Math.max(home, away);
+                match++;
+            }
+        }
+        pool.setSchedule(rounds, round, player1, player2);
+    }
+
+    private int firstOpen(Player[][] members, int[] filled) {
+        for (int pool = 0; pool < members.length; pool++) {
+            if (filled[pool] < members[pool].length) return pool;
+        }
+        throw new IllegalStateException("More players than pool spaces");
+    }
+
+    private class ScheduleTask extends RecursiveAction {
+
+        private final Pool[] pools;
+        private final int from;
+        private final int to;
+
+        private ScheduleTask(Pool[] pools, int from, int to) {
+            this.pools = pools;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= POOLS_PER_TASK) {
+                for (int pool = from; pool < to; pool++) {
+                    schedule(pools[pool]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ScheduleTask(pools, from, middle), new ScheduleTask(pools, middle, to));
+        }
+    }
+}
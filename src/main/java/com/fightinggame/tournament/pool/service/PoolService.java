@@ -0,0 +1,138 @@
+package com.fightinggame.tournament.pool.service;
+
+import com.fightinggame.tournament.exception.model.TournamentNotFoundException;
+import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.player.service.PlayerService;
+import com.fightinggame.tournament.pool.dto.PoolInitializationRequest;
+import com.fightinggame.tournament.pool.dto.PoolResponse;
+import com.fightinggame.tournament.pool.dto.PoolResultRequest;
+import com.fightinggame.tournament.pool.dto.PoolTournamentResponse;
+import com.fightinggame.tournament.pool.model.Pool;
+import com.fightinggame.tournament.pool.model.PoolTournament;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs round-robin pool stages in memory, usually before a top-cut bracket.
+ * Standings are updated as results arrive.
+ */
+@Service
+public class PoolService {
+
+    private final PlayerService playerService;
+    private final PoolGenerator poolGenerator;
+
+    private final ConcurrentMap<Long, PoolTournament> tournaments = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong();
+
+    public PoolService(PlayerService playerService, PoolGenerator poolGenerator) {
+        this.playerService = playerService;
+        this.poolGenerator = poolGenerator;
+    }
+
+    /**
+     * Splits every registered player into snake-seeded pools and schedules them
+     * @return the id of the new pool stage
+     * @throws IllegalArgumentException with less than 2 players
+     */
+    public long createTournament(PoolInitializationRequest request) {
+
+        List<Player> players = playerService.getEntrants(null);
+        if (players.size() < 2) {
+            throw new IllegalArgumentException("At least 2 players required");
+        }
+
+        long id = idSequence.incrementAndGet();
+        tournaments.put(id, new PoolTournament(id, poolGenerator.generate(players, request.poolSize())));
+        return id;
+    }
+
+    /**
+     * Sets the winner of a pool match, a previous result of the match is replaced
+     * @throws IllegalArgumentException if the pool or match doesn't exist or the player isn't in the match
+     * @throws TournamentNotFoundException if tournament doesn't exist
+     */
+    public PoolResponse reportResult(long tournamentId, PoolResultRequest request) {
+        PoolTournament tournament = getTournamentForUpdate(tournamentId);
+        return locked(tournament, () -> {
+            Pool[] pools = tournament.getPools();
+            if (request.pool() > pools.length) {
+                throw new IllegalArgumentException("There is no pool " + request.pool());
+            }
+
+            Pool pool = pools[request.pool() - 1];
+            int match = request.match() - 1;
+            if (match >= pool.getMatches()) {
+                throw new IllegalArgumentException("There is no match " + request.match() + " in pool " + request.pool());
+            }
+
+            pool.setWinner(match, indexAt(pool, match, request.playerId()));
+            return PoolResponse.fromEntity(pool);
+        });
+    }
+
+    /**
+     * Standings and matches of every pool
+     * @throws TournamentNotFoundException if tournament doesn't exist
+     */
+    public PoolTournamentResponse getTournament(long tournamentId) {
+        PoolTournament tournament = getTournamentForUpdate(tournamentId);
+        return readLocked(tournament, () -> {
+            List<PoolResponse> pools = new ArrayList<>(tournament.getPools().length);
+            for (Pool pool : tournament.getPools()) {
+                pools.add(PoolResponse.fromEntity(pool));
+            }
+            return new PoolTournamentResponse(tournament.getId(), pools);
+        });
+    }
+
+    public void deleteTournament(long tournamentId) {
+        if (tournaments.remove(tournamentId) == null) {
+            throw new TournamentNotFoundException("There is no pool stage with id " + tournamentId);
+        }
+    }
+
+    private PoolTournament getTournamentForUpdate(long tournamentId) {
+        PoolTournament tournament = tournaments.get(tournamentId);
+        if (tournament == null) {
+            throw new TournamentNotFoundException("There is no pool stage with id " + tournamentId);
+        }
+        return tournament;
+    }
+
+    private int indexAt(Pool pool, int match, long playerId) {
+        int player1 = pool.getPlayer1()[match];
+        int player2 = pool.getPlayer2()[match];
+        if (pool.getPlayers()[player1].getId() == playerId) return player1;
+        if (pool.getPlayers()[player2].getId() == playerId) return player2;
+        throw new IllegalArgumentException("Player id not found in the players of the selected match");
+    }
+
+    private <T> T locked(PoolTournament tournament, Supplier<T> action) {
+        StampedLock lock = tournament.getLock();
+        long stamp = lock.writeLock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Standings only read the pools, so spectators polling them don't hold back result reporting
+    private <T> T readLocked(PoolTournament tournament, Supplier<T> action) {
+        StampedLock lock = tournament.getLock();
+        long stamp = lock.readLock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
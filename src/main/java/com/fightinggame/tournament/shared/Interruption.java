@@ -0,0 +1,29 @@
+package com.fightinggame.tournament.shared;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Lets long bracket work stop early once the thread that asked for it is interrupted (a cancelled job).
+ * Fork/join tasks run on pool threads, so they check the thread that submitted them instead of their own.
+ */
+public final class Interruption {
+
+    private Interruption() {} // Prevent instantiation
+
+    /**
+     * @throws CancellationException if the current thread is interrupted, the flag is kept
+     */
+    public static void check() {
+        check(Thread.currentThread());
+    }
+
+    /**
+     * @param requester the thread the work is done for
+     * @throws CancellationException if the requester is interrupted, the flag is kept
+     */
+    public static void check(Thread requester) {
+        if (requester.isInterrupted()) {
+            throw new CancellationException("Bracket generation was cancelled");
+        }
+    }
+}
@@ -1,22 +1,33 @@
 package com.fightinggame.tournament.shared;
 
 import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.BracketSnapshot;
 import com.fightinggame.tournament.match.model.Match;
+import com.fightinggame.tournament.match.model.MatchDelta;
+import com.fightinggame.tournament.match.model.MatchSnapshot;
+import com.fightinggame.tournament.player.model.Player;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.Set;
 
 @Component
 public class MatchOperator {
 
     /**
-     * Search in a balanced tree
+     * Search in a balanced tree, constant time when the bracket has a heap index
      */
     public Match searchMatch (Bracket bracket, int targetReferenceValue) {
 
+        if (bracket.getMatches() != null) {
+            return bracket.getMatch(targetReferenceValue);
+        }
+
         Match matchPointer = bracket.getRootMatch();
 
         while (true) {
@@ -34,9 +45,13 @@ public class MatchOperator {
 
 
     /**
-     * Tree search for a parent node/match by its child value in a balanced tree/bracket
+     * Tree search for a parent node/match by its child value in a balanced tree/bracket.
+     * Brackets with a heap index compute the parent slot directly (i/2).
      */
     public Match searchParentMatch (Bracket bracket, int targetReferenceValue) {
+        if (bracket.getMatches() != null) {
+            return bracket.getParentMatch(targetReferenceValue);
+        }
         return searchParentMatchRecursive(bracket.getRootMatch(), targetReferenceValue);
     }
 
@@ -81,6 +96,16 @@ public class MatchOperator {
             return leaves;
         }
 
+        // The heap index is already in breadth-first order, so no queue is needed
+        if (bracket.getMatches() != null) {
+            for (Match match : bracket.getMatches()) {
+                if (match != null && match.getLeftMatch() == null && match.getRightMatch() == null) {
+                    leaves.add(match);
+                }
+            }
+            return leaves;
+        }
+
         // Each layer of nodes in the tree-bracket gets queued before moving to the next layer
         Queue<Match> queue = new LinkedList<>();
         queue.add(bracket.getRootMatch());
@@ -111,42 +136,144 @@ public class MatchOperator {
     }
 
     /**
-     * Check appearances of a player in the bracket and clear them until the specified match reference value
+     * Check appearances of a player in the bracket and clear them from the specified match reference value
+     * up to the last match the player reached
      */
     public void clearPlayerWins(Bracket bracket, int targetReferenceValue, long playerId) {
-        Match matchPointer = bracket.getRootMatch();
+        Match target = searchMatch(bracket, targetReferenceValue);
+        if (target != null) {
+            clearPlayerWins(target, playerId);
+        }
+    }
 
-        while (true) {
-            // If this player won, set the winner state to null
-            if (matchPointer.getWinner() != null) {
-                if (matchPointer.getWinner().getId() == playerId) {
-                    matchPointer.setWinner(null);
-                }
-            }
+    /**
+     * Walk up the parent links from the edited match clearing the player wins.
+     * A player can only occupy a contiguous path above the match, so the walk stops at the first
+     * next match where the player is absent, costing only the length of the affected path.
+     */
+    public void clearPlayerWins(Match fromMatch, long playerId) {
 
-            // In case this is the target match, stop the cleaning
-            if (matchPointer.getReferenceValue() == targetReferenceValue) {
-                break;
-            }
+        // On the edited match only the winner state is cleared, the player keeps their spot
+        clearWinner(fromMatch, playerId);
+
+        Match matchPointer = fromMatch.getParentMatch();
+        while (matchPointer != null) {
+            boolean removed = false;
 
             // if the player is in the match, remove them
-            if (matchPointer.getPlayer1() != null) {
-                if (matchPointer.getPlayer1().getId() == playerId) {
-                    matchPointer.setPlayer1(null);
-                }
+            if (matchPointer.getPlayer1() != null && matchPointer.getPlayer1().getId() == playerId) {
+                matchPointer.setPlayer1(null);
+                removed = true;
             }
-            if (matchPointer.getPlayer2() != null) {
-                if (matchPointer.getPlayer2().getId() == playerId) {
-                    matchPointer.setPlayer2(null);
-                }
+            if (matchPointer.getPlayer2() != null && matchPointer.getPlayer2().getId() == playerId) {
+                matchPointer.setPlayer2(null);
+                removed = true;
             }
 
-            // Move the pointer through the bracket
-            if (matchPointer.getReferenceValue() > targetReferenceValue) {
-                matchPointer = matchPointer.getLeftMatch();
+            // The player never reached this match, so the rest of the path is untouched
+            if (!removed) break;
+
+            clearWinner(matchPointer, playerId);
+            matchPointer = matchPointer.getParentMatch();
+        }
+    }
+
+    private void clearWinner (Match match, long playerId) {
+        // If this player won, set the winner state to null
+        if (match.getWinner() != null && match.getWinner().getId() == playerId) {
+            match.setWinner(null);
+        }
+    }
+
+    /**
+     * Double elimination advancement after a result: the winner moves to the next match and the loser drops through
+     * the drop table. The grand finals decides the tournament when the winners bracket player wins it, otherwise
+     * both players go to the reset.
+     * @param touched collects every match changed here
+     */
+    public void advanceResult (Bracket bracket, Match match, List<Match> touched) {
+
+        touched.add(match);
+        Match nextMatch = match.getParentMatch();
+        if (nextMatch == null) return;      // The reset, nothing after it
+
+        touched.add(nextMatch);
+        if (match == bracket.getGrandFinal()) {
+            Match winnersFinal = match.getLeftMatch();
+            if (winnersFinal.getWinner() != null && winnersFinal.getWinner().getId() == match.getWinner().getId()) {
+                nextMatch.setWinner(match.getWinner());     // Still unbeaten, no reset needed
             } else {
-                matchPointer = matchPointer.getRightMatch();
+                nextMatch.setPlayer1(match.getPlayer1());
+                nextMatch.setPlayer2(match.getPlayer2());
             }
+            return;
+        }
+
+        allocateWinner(nextMatch, match);
+
+        Match loserMatch = bracket.getLoserMatch(match.getReferenceValue());
+        if (loserMatch != null) {
+            allocatePlayer(loserMatch, getLoser(match));
+            touched.add(loserMatch);
+        }
+    }
+
+    /**
+     * Double elimination counterpart of {@link #clearPlayerWins}: voids the result of the match, taking the winner
+     * out of the next match and the loser out of the match they dropped to. A result whose match loses a player
+     * is voided too, so the whole chain that depended on this result is undone.
+     * @param touched collects every match changed here
+     */
+    public void clearResult (Bracket bracket, Match match, List<Match> touched) {
+
+        Player winner = match.getWinner();
+        if (winner == null) return;
+
+        Player loser = getLoser(match);
+        match.setWinner(null);
+        touched.add(match);
+
+        Match nextMatch = match.getParentMatch();
+        if (match == bracket.getGrandFinal()) {
+            // The reset only exists because of this result
+            nextMatch.setPlayer1(null);
+            nextMatch.setPlayer2(null);
+            nextMatch.setWinner(null);
+            touched.add(nextMatch);
+            return;
+        }
+
+        removePlayer(bracket, nextMatch, winner.getId(), touched);
+        if (loser != null) {
+            removePlayer(bracket, bracket.getLoserMatch(match.getReferenceValue()), loser.getId(), touched);
+        }
+    }
+
+    private void removePlayer (Bracket bracket, Match match, long playerId, List<Match> touched) {
+        if (match == null) return;
+
+        boolean isPlayer1 = match.getPlayer1() != null && match.getPlayer1().getId() == playerId;
+        boolean isPlayer2 = match.getPlayer2() != null && match.getPlayer2().getId() == playerId;
+        if (!isPlayer1 && !isPlayer2) return;
+
+        clearResult(bracket, match, touched);
+        if (isPlayer1) match.setPlayer1(null);
+        if (isPlayer2) match.setPlayer2(null);
+        touched.add(match);
+    }
+
+    private Player getLoser (Match match) {
+        if (match.getPlayer1() != null && match.getPlayer1().getId() == match.getWinner().getId()) {
+            return match.getPlayer2();
+        }
+        return match.getPlayer1();
+    }
+
+    private void allocatePlayer (Match match, Player player) {
+        if (match.getPlayer1() == null) {
+            match.setPlayer1(player);
+        } else if (match.getPlayer2() == null) {
+            match.setPlayer2(player);
         }
     }
 
@@ -154,14 +281,87 @@ public class MatchOperator {
      * Set a player to any empty space in the next match
      */
     public void allocateWinner (Match nextMatch, Match match) {
+        allocatePlayer(nextMatch, match.getWinner());
+    }
 
-        if (nextMatch.getPlayer1() == null) {
-            nextMatch.setPlayer1(match.getWinner());
-        } else if (nextMatch.getPlayer2() == null) {
-            nextMatch.setPlayer2(match.getWinner());
+    /**
+     * Build the immutable images of every match and publish them as the bracket snapshot of the next version.
+     * Used once the bracket is initialized, later changes only copy the edited path.
+     */
+    public void publishSnapshot (Bracket bracket) {
+        MatchSnapshot root = bracket.getRootMatch() != null ? freezeSubtree(bracket.getRootMatch()) : null;
+        bracket.setVersion(bracket.getVersion() + 1);
+        bracket.setSnapshot(new BracketSnapshot(bracket.getId(), bracket.getVersion(), bracket.getFormat(), root));
+    }
+
+    /**
+     * Copy-on-write publication after a change: only the matches from the edited one up to the finals get
+     * new images, every other subtree is shared with the previous snapshot. Must be called by the bracket writer,
+     * each call publishes the next bracket version.
+     * @return the matches of the path whose occupants or winner changed, from the edited match up
+     */
+    public List<MatchDelta> publishPath (Bracket bracket, Match fromMatch) {
+        return publishPaths(bracket, List.of(fromMatch));
+    }
+
+    /**
+     * Same as {@link #publishPath} for several edited matches at once, all of them in a single new version.
+     * The paths are marked first (stopping where they join), then only the marked matches are frozen,
+     * children before parents, so shared ancestors get a single new image.
+     * @return the marked matches whose occupants or winner changed, children before parents
+     */
+    public List<MatchDelta> publishPaths (Bracket bracket, List<Match> fromMatches) {
+        if (bracket.getSnapshot() == null) {
+            publishSnapshot(bracket);
+            return List.of();
+        }
+
+        Set<Match> edited = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Match fromMatch : fromMatches) {
+            for (Match matchPointer = fromMatch; matchPointer != null && edited.add(matchPointer);
+                 matchPointer = matchPointer.getParentMatch());
+        }
+
+        List<MatchDelta> changes = new ArrayList<>();
+        refreeze(bracket.getRootMatch(), edited, changes);
+
+        bracket.setVersion(bracket.getVersion() + 1);
+        bracket.setSnapshot(new BracketSnapshot(bracket.getId(), bracket.getVersion(), bracket.getFormat(), bracket.getRootMatch().getSnapshot()));
+        return changes;
+    }
+
+    private void refreeze (Match match, Set<Match> edited, List<MatchDelta> changes) {
+        if (match == null || !edited.contains(match)) return;     // Unchanged subtree, its image is shared
+
+        refreeze(match.getLeftMatch(), edited, changes);
+        refreeze(match.getRightMatch(), edited, changes);
+
+        MatchSnapshot previous = match.getSnapshot();
+        match.setSnapshot(freeze(match));
+        if (isChanged(previous, match)) {
+            changes.add(MatchDelta.of(match.getSnapshot()));
         }
     }
 
+    private boolean isChanged (MatchSnapshot previous, Match match) {
+        // Players are shared instances, so identity tells whether a slot changed
+        return previous == null
+                || previous.player1() != match.getPlayer1()
+                || previous.player2() != match.getPlayer2()
+                || previous.winner() != match.getWinner();
+    }
+
+    private MatchSnapshot freezeSubtree (Match match) {
+        if (match.getLeftMatch() != null) freezeSubtree(match.getLeftMatch());
+        if (match.getRightMatch() != null) freezeSubtree(match.getRightMatch());
+        match.setSnapshot(freeze(match));
+        return match.getSnapshot();
+    }
 
+    private MatchSnapshot freeze (Match match) {
+        MatchSnapshot left = match.getLeftMatch() != null ? match.getLeftMatch().getSnapshot() : null;
+        MatchSnapshot right = match.getRightMatch() != null ? match.getRightMatch().getSnapshot() : null;
+        return MatchSnapshot.of(match, left, right);
+    }
 
 }
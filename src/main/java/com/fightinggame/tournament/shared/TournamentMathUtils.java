@@ -2,23 +2,32 @@ package com.fightinggame.tournament.shared;
 
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
 
 @Component
 public class TournamentMathUtils {
 
 
+    // Largest power of two that still fits an int
+    private static final int MAX_SPACES = 1 << 30;
+
+    // Seed orders by log2 of the number of leaves, shared by every bracket of the same size
+    private final AtomicReferenceArray<int[]> seedOrderCache = new AtomicReferenceArray<>(Integer.SIZE);
+
+
     /**
      * Calculate the depth of the bracket considering that the list of players size is a power of 2,
      * that is, since the quantity of participants may not fit perfectly in a bracket, bye matches
-     * could exist.
+     * could exist. Exact integer version of ceil(log2(numLeaves)).
      * */
     public int calculateDepth(int numLeaves) {
         if (numLeaves <= 0) {
             throw new IllegalArgumentException("The number of leaves must be at least 1");
         }
-        return (int) Math.ceil(Math.log(numLeaves) / Math.log(2));
+        return Integer.SIZE - Integer.numberOfLeadingZeros(numLeaves - 1);
     }
 
 
@@ -26,46 +35,43 @@ public class TournamentMathUtils {
      * Calculates tha next value of players for a full bracket
      */
     public int nextPowerOfTwo(int value) {
-        int power = 2;
-        while (power < value) power *= 2;
-        return power;
+        if (value <= 2) return 2;
+        if (value > MAX_SPACES) {
+            throw new IllegalArgumentException("Brackets are limited to " + MAX_SPACES + " players");
+        }
+        return Integer.highestOneBit(value - 1) << 1;
     }
 
     /**
      * Create a list of indexes to assign players uniformly/balanced in the bracket
      */
     public List<Integer> calculateIndexesToPlayerInsertionOrder(int numLeaves) {
+        return Arrays.stream(calculateSeedOrder(numLeaves))
+                .boxed()
+                .collect(Collectors.toList());
+    }
 
-        List<Integer> order = new ArrayList<>();
-
-        // Divide the number of leaves by two to firstly deal with the even indexes
-        int qttOfEvenIndexes = numLeaves / 2;
-
-        // Create a list of even numbers
-        for (int i = 0; i < qttOfEvenIndexes; i++) {
-            order.add(i * 2);
+    /**
+     * Indexes to assign players uniformly/balanced in the bracket: the bit-reversal permutation of the leaves,
+     * so consecutive players always land in opposite halves of every subtree.
+     * Computed once per bracket size, the returned array is shared and must not be modified.
+     */
+    public int[] calculateSeedOrder(int numLeaves) {
+        if (numLeaves <= 0 || Integer.bitCount(numLeaves) != 1) {
+            throw new IllegalArgumentException("The number of leaves must be a power of two");
         }
 
-        // If the list is bigger than 2, modify its odd positions on the first half as follows:
-        // Switch the positions of i with [i - 1 + (half of the list size)]
-        if (qttOfEvenIndexes > 2) {
-            boolean isOddPosition = false;  // starts at zero
-            for (int i = 0; i < qttOfEvenIndexes/2; i++) {
-                if (isOddPosition) {
-                    int targetIndex = (i - 1 + (qttOfEvenIndexes/2));
-                    int temp = order.get(i);
-                    order.set(i, order.get(targetIndex));
-                    order.set(targetIndex, temp);
-                }
-                isOddPosition = !isOddPosition;
+        int bits = Integer.numberOfTrailingZeros(numLeaves);
+        int[] order = seedOrderCache.get(bits);
+        if (order == null) {
+            order = new int[numLeaves];
+            for (int i = 1; i < numLeaves; i++) {   // Index zero always stays first
+                order[i] = Integer.reverse(i) >>> (Integer.SIZE - bits);
             }
+            // Another thread may have computed it meanwhile, both are equal so keep the stored one
+            seedOrderCache.compareAndSet(bits, null, order);
+            order = seedOrderCache.get(bits);
         }
-
-        // Add the second half of the indexes which is a copy of the first plus one
-        for (int i : new ArrayList<>(order)) {
-            order.add(i + 1);
-        }
-
         return order;
     }
 
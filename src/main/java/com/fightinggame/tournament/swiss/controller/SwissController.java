@@ -0,0 +1,82 @@
+package com.fightinggame.tournament.swiss.controller;
+
+import com.fightinggame.tournament.swiss.dto.SwissResultRequest;
+import com.fightinggame.tournament.swiss.dto.SwissRoundResponse;
+import com.fightinggame.tournament.swiss.dto.SwissTournamentResponse;
+import com.fightinggame.tournament.swiss.service.SwissService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * REST Controller managing Swiss-system tournaments - creation, round pairing and results.
+ */
+@RestController
+@RequestMapping ("/swiss")
+public class SwissController {
+
+    @Autowired
+    private SwissService swissService;
+
+    /**
+     * Creates a Swiss tournament with every registered player.
+     * @return 200 OK with the new tournament location
+     */
+    @PostMapping
+    public ResponseEntity<Void> createTournament () {
+        long tournamentId = swissService.createTournament();
+
+        return ResponseEntity.ok().location(URI.create("/swiss/" + tournamentId)).build();
+    }
+
+    /**
+     * Gets the standings and the current round.
+     * @param id Tournament's unique identifier
+     * @return 200 OK with tournament data, 404 if not found
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<SwissTournamentResponse> getTournament (@PathVariable long id) {
+        return ResponseEntity.ok(swissService.getTournament(id));
+    }
+
+    /**
+     * Pairs the next round, once every result of the current one was reported.
+     * @param id Tournament's unique identifier
+     * @return 200 OK with the pairings, 400 if results are pending
+     */
+    @PostMapping("/{id}/rounds")
+    public ResponseEntity<SwissRoundResponse> pairNextRound (@PathVariable long id) {
+        return ResponseEntity.ok(swissService.pairNextRound(id));
+    }
+
+    /**
+     * Reports the winner of a table in the current round.
+     * @param id Tournament's unique identifier
+     * @param request Contains table number and winning player ID
+     * @return 200 OK on success
+     */
+    @PutMapping("/{id}/result")
+    public ResponseEntity<Void> reportResult (
+            @PathVariable long id,
+            @RequestBody @Valid SwissResultRequest request)
+    {
+        swissService.reportResult(id, request);
+
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Removes a finished tournament from memory.
+     * @param id Tournament's unique identifier
+     * @return 204 No Content, 404 if not found
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTournament (@PathVariable long id) {
+        swissService.deleteTournament(id);
+
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.fightinggame.tournament.swiss.dto;
+
+import com.fightinggame.tournament.player.dto.PlayerResponse;
+
+/**
+ * @param player2 null for a bye
+ * @param winnerId null while the result is pending
+ */
+public record SwissPairingResponse(
+        int table,
+        PlayerResponse player1,
+        PlayerResponse player2,
+        Long winnerId
+) {}
@@ -0,0 +1,12 @@
+package com.fightinggame.tournament.swiss.dto;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record SwissResultRequest(
+        @Positive
+        int table,
+
+        @PositiveOrZero
+        long playerId
+) {}
@@ -0,0 +1,29 @@
+package com.fightinggame.tournament.swiss.dto;
+
+import com.fightinggame.tournament.player.dto.PlayerResponse;
+import com.fightinggame.tournament.swiss.model.SwissRound;
+import com.fightinggame.tournament.swiss.model.SwissTournament;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record SwissRoundResponse(
+        int number,
+        boolean complete,
+        List<SwissPairingResponse> pairings
+) {
+    public static SwissRoundResponse fromEntity(SwissTournament tournament, SwissRound round) {
+        List<SwissPairingResponse> pairings = new ArrayList<>(round.getTables());
+        for (int table = 0; table < round.getTables(); table++) {
+            int player2 = round.getPlayer2()[table];
+            int winner = round.getWinner()[table];
+            pairings.add(new SwissPairingResponse(
+                    table + 1,
+                    PlayerResponse.fromEntity(tournament.getPlayers()[round.getPlayer1()[table]]),
+                    player2 != SwissRound.NONE ? PlayerResponse.fromEntity(tournament.getPlayers()[player2]) : null,
+                    winner != SwissRound.NONE ? tournament.getPlayers()[winner].getId() : null
+            ));
+        }
+        return new SwissRoundResponse(round.getNumber(), round.isComplete(), pairings);
+    }
+}
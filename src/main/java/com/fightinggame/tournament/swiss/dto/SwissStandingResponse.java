@@ -0,0 +1,9 @@
+package com.fightinggame.tournament.swiss.dto;
+
+import com.fightinggame.tournament.player.dto.PlayerResponse;
+
+public record SwissStandingResponse(
+        int rank,
+        PlayerResponse player,
+        int points
+) {}
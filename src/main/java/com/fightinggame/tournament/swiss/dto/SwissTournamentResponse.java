@@ -0,0 +1,12 @@
+package com.fightinggame.tournament.swiss.dto;
+
+import java.util.List;
+
+/**
+ * @param currentRound null before the first round is paired
+ */
+public record SwissTournamentResponse(
+        long id,
+        List<SwissStandingResponse> standings,
+        SwissRoundResponse currentRound
+) {}
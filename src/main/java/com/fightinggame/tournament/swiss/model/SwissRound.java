@@ -0,0 +1,53 @@
+package com.fightinggame.tournament.swiss.model;
+
+import lombok.Getter;
+
+/**
+ * Pairings of one Swiss round, stored as parallel arrays of seeds (table i is index i) to stay compact for
+ * large fields. A bye is a table without a second player, already won by its only player.
+ */
+@Getter
+public class SwissRound {
+
+    public static final int NONE = -1;
+
+    private final int number;
+    private final int[] player1;
+    private final int[] player2;
+    private final int[] winner;
+    private int pendingResults;
+
+    public SwissRound(int number, int[] player1, int[] player2) {
+        this.number = number;
+        this.player1 = player1;
+        this.player2 = player2;
+        this.winner = new int[player1.length];
+        for (int table = 0; table < player1.length; table++) {
+            if (player2[table] == NONE) {
+                winner[table] = player1[table];
+            } else {
+                winner[table] = NONE;
+                pendingResults++;
+            }
+        }
+    }
+
+    public int getTables() {
+        return player1.length;
+    }
+
+    public boolean isComplete() {
+        return pendingResults == 0;
+    }
+
+    /**
+     * Set the winner of a table
+     * @return the previous winner or {@link #NONE}
+     */
+    public int setWinner(int table, int seed) {
+        int previous = winner[table];
+        if (previous == NONE) pendingResults--;
+        winner[table] = seed;
+        return previous;
+    }
+}
@@ -0,0 +1,58 @@
+package com.fightinggame.tournament.swiss.model;
+
+import com.fightinggame.tournament.player.model.Player;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * State of a Swiss tournament. Players are referenced by seed (their position by rating, highest first),
+ * so scores and byes are primitive arrays and the rematch index is a hash set of seed pairs.
+ */
+@Getter
+public class SwissTournament {
+
+    private final long id;
+    private final Player[] players;
+    private final int[] points;
+    private final boolean[] receivedBye;
+    private final Set<Long> playedPairs = new HashSet<>();
+    private final List<SwissRound> rounds = new ArrayList<>();
+
+    // Serializes pairing and result submissions on this tournament
+    private final StampedLock lock = new StampedLock();
+
+    public SwissTournament(long id, List<Player> players) {
+        this.id = id;
+        this.players = players.stream()
+                .sorted(Comparator.comparingInt(Player::getRating).reversed())
+                .toArray(Player[]::new);
+        this.points = new int[this.players.length];
+        this.receivedBye = new boolean[this.players.length];
+    }
+
+    public int size() {
+        return players.length;
+    }
+
+    public SwissRound getCurrentRound() {
+        return rounds.isEmpty() ? null : rounds.get(rounds.size() - 1);
+    }
+
+    public boolean havePlayed(int seed, int otherSeed) {
+        return playedPairs.contains(pairKey(seed, otherSeed));
+    }
+
+    public void recordPairing(int seed, int otherSeed) {
+        playedPairs.add(pairKey(seed, otherSeed));
+    }
+
+    private long pairKey(int seed, int otherSeed) {
+        return ((long) Math.min(seed, otherSeed) << 32) | Math.max(seed, otherSeed);
+    }
+}
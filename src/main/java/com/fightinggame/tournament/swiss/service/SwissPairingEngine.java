@@ -0,0 +1,172 @@
+package com.fightinggame.tournament.swiss.service;
+
+import com.fightinggame.tournament.swiss.model.SwissRound;
+import com.fightinggame.tournament.swiss.model.SwissTournament;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pairs Swiss rounds in O(n * rounds) time.
+ *
+ * <p>Players are ranked with a counting sort into score buckets (highest score first, then seed). Inside a bucket
+ * the top half faces the bottom half (so the first round is seed 1 against seed n/2 + 1), skipping opponents found
+ * in the rematch index. The player left over in an odd bucket, or one who already played every remaining player
+ * of it, floats down to the next bucket. Only players still unpaired after the last bucket may get a rematch.
+ */
+@Component
+public class SwissPairingEngine {
+
+    /**
+     * Pair the next round of the tournament, recording the pairs in its rematch index and awarding the bye
+     */
+    public SwissRound pairNextRound(SwissTournament tournament) {
+
+        int[] ranking = rank(tournament);
+        int size = ranking.length;
+
+        int bye = SwissRound.NONE;
+        if ((size & 1) == 1) {
+            bye = takeBye(tournament, ranking);
+            size--;
+        }
+
+        int tables = size / 2 + (bye != SwissRound.NONE ? 1 : 0);
+        Pairings pairings = new Pairings(tables);
+
+        int[] group = new int[size];
+        int groupSize = 0;
+        int[] points = tournament.getPoints();
+        for (int start = 0; start < size; ) {
+            int end = start;
+            while (end < size && points[ranking[end]] == points[ranking[start]]) {
+                group[groupSize++] = ranking[end++];
+            }
+            groupSize = pairGroup(tournament, group, groupSize, pairings);   // Unpaired players float down
+            start = end;
+        }
+
+        // Whoever is left already played everyone they could still face
+        for (int i = 0; i + 1 < groupSize; i += 2) {
+            pairings.add(tournament, group[i], group[i + 1]);
+        }
+
+        if (bye != SwissRound.NONE) {
+            pairings.addBye(bye);
+            tournament.getReceivedBye()[bye] = true;
+            tournament.getPoints()[bye]++;
+        }
+
+        SwissRound round = new SwissRound(tournament.getRounds().size() + 1, pairings.player1, pairings.player2);
+        tournament.getRounds().add(round);
+        return round;
+    }
+
+    /**
+     * Seeds ordered by points (descending) and seed, a stable counting sort since points never exceed the rounds
+     */
+    public int[] rank(SwissTournament tournament) {
+
+        int[] points = tournament.getPoints();
+        int maxPoints = 0;
+        for (int value : points) maxPoints = Math.max(maxPoints, value);
+
+        int[] bucketStart = new int[maxPoints + 2];
+        for (int value : points) bucketStart[maxPoints - value + 1]++;
+        for (int bucket = 1; bucket < bucketStart.length; bucket++) bucketStart[bucket] += bucketStart[bucket - 1];
+
+        int[] ranking = new int[points.length];
+        for (int seed = 0; seed < points.length; seed++) {
+            ranking[bucketStart[maxPoints - points[seed]]++] = seed;
+        }
+        return ranking;
+    }
+
+    /**
+     * The lowest ranked player who didn't have a bye yet sits out, removed from the ranking by shifting it left.
+     * Once every player had one (more rounds than players), the lowest ranked player gets a second bye instead:
+     * the received flags are never cleared, so from then on each bye goes to whoever ranks last in that round.
+     */
+    private int takeBye(SwissTournament tournament, int[] ranking) {
+        int last = ranking.length - 1;
+        int position = last;
+        while (position > 0 && tournament.getReceivedBye()[ranking[position]]) position--;
+        if (tournament.getReceivedBye()[ranking[position]]) position = last;   // Everyone had one, repeat it
+
+        int bye = ranking[position];
+        System.arraycopy(ranking, position + 1, ranking, position, last - position);
+        return bye;
+    }
+
+    /**
+     * Pair a score group (floaters from the group above first), top half against bottom half.
+     * Taken positions are skipped with a path compressed "next free" array, so each lookup is close to constant.
+     * @return the number of unpaired players, moved to the start of the group array
+     */
+    private int pairGroup(SwissTournament tournament, int[] group, int groupSize, Pairings pairings) {
+
+        int half = groupSize / 2;
+        int[] nextFree = new int[groupSize + 1];
+        for (int i = 0; i <= groupSize; i++) nextFree[i] = i;
+
+        int floaters = 0;
+        for (int i = findFree(nextFree, 0); i < groupSize; i = findFree(nextFree, i + 1)) {
+            nextFree[i] = i + 1;
+
+            int preferred = i < half ? i + half : i + 1;
+            int opponent = findOpponent(tournament, group, nextFree, i, preferred);
+            if (opponent == SwissRound.NONE && preferred > i + 1) {
+                opponent = findOpponent(tournament, group, nextFree, i, i + 1);
+            }
+
+            if (opponent == SwissRound.NONE) {
+                group[floaters++] = group[i];   // Never overwrites an unvisited position, floaters <= i
+            } else {
+                nextFree[opponent] = opponent + 1;
+                pairings.add(tournament, group[i], group[opponent]);
+            }
+        }
+        return floaters;
+    }
+
+    private int findOpponent(SwissTournament tournament, int[] group, int[] nextFree, int player, int from) {
+        int groupSize = nextFree.length - 1;
+        for (int candidate = findFree(nextFree, from); candidate < groupSize;
+             candidate = findFree(nextFree, candidate + 1)) {
+            if (!tournament.havePlayed(group[player], group[candidate])) return candidate;
+        }
+        return SwissRound.NONE;
+    }
+
+    private int findFree(int[] nextFree, int position) {
+        int root = position;
+        while (nextFree[root] != root) root = nextFree[root];
+        while (nextFree[position] != root) {
+            int next = nextFree[position];
+            nextFree[position] = root;
+            position = next;
+        }
+        return root;
+    }
+
+    private static final class Pairings {
+
+        private final int[] player1;
+        private final int[] player2;
+        private int tables;
+
+        private Pairings(int tables) {
+            this.player1 = new int[tables];
+            this.player2 = new int[tables];
+        }
+
+        private void add(SwissTournament tournament, int seed, int otherSeed) {
+            player1[tables] = seed;
+            player2[tables++] = otherSeed;
+            tournament.recordPairing(seed, otherSeed);
+        }
+
+        private void addBye(int seed) {
+            player1[tables] = seed;
+            player2[tables++] = SwissRound.NONE;
+        }
+    }
+}
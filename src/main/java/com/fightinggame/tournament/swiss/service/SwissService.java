@@ -0,0 +1,169 @@
+package com.fightinggame.tournament.swiss.service;
+
+import com.fightinggame.tournament.exception.model.TournamentNotFoundException;
+import com.fightinggame.tournament.player.dto.PlayerResponse;
+import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.player.service.PlayerService;
+import com.fightinggame.tournament.swiss.dto.SwissResultRequest;
+import com.fightinggame.tournament.swiss.dto.SwissRoundResponse;
+import com.fightinggame.tournament.swiss.dto.SwissStandingResponse;
+import com.fightinggame.tournament.swiss.dto.SwissTournamentResponse;
+import com.fightinggame.tournament.swiss.model.SwissRound;
+import com.fightinggame.tournament.swiss.model.SwissTournament;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs Swiss tournaments in memory: every registered player plays every round (with a bye for odd fields),
+ * one point per win. Scores are updated as results arrive, the next round can be paired once all are in.
+ */
+@Service
+public class SwissService {
+
+    private final PlayerService playerService;
+    private final SwissPairingEngine pairingEngine;
+
+    private final ConcurrentMap<Long, SwissTournament> tournaments = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong();
+
+    public SwissService(PlayerService playerService, SwissPairingEngine pairingEngine) {
+        this.playerService = playerService;
+        this.pairingEngine = pairingEngine;
+    }
+
+    /**
+     * Creates a Swiss tournament with every registered player, seeded by rating
+     * @return the id of the new tournament
+     * @throws IllegalArgumentException with less than 2 players
+     */
+    public long createTournament() {
+
+        List<Player> players = playerService.getEntrants(null);
+        if (players.size() < 2) {
+            throw new IllegalArgumentException("At least 2 players required");
+        }
+
+        long id = idSequence.incrementAndGet();
+        tournaments.put(id, new SwissTournament(id, players));
+        return id;
+    }
+
+    /**
+     * Pairs the next round
+     * @throws IllegalStateException if the current round still has pending results
+     * @throws TournamentNotFoundException if tournament doesn't exist
+     */
+    public SwissRoundResponse pairNextRound(long tournamentId) {
+        SwissTournament tournament = getTournamentForUpdate(tournamentId);
+        return locked(tournament, () -> {
+            SwissRound current = tournament.getCurrentRound();
+            if (current != null && !current.isComplete()) {
+                throw new IllegalStateException("Round " + current.getNumber() + " still has pending results");
+            }
+            return SwissRoundResponse.fromEntity(tournament, pairingEngine.pairNextRound(tournament));
+        });
+    }
+
+    /**
+     * Sets the winner of a table in the current round, a previous result of the table is replaced
+     * @throws IllegalStateException if no round was paired
+     * @throws IllegalArgumentException if the table doesn't exist, is a bye or the player isn't there
+     */
+    public void reportResult(long tournamentId, SwissResultRequest request) {
+        SwissTournament tournament = getTournamentForUpdate(tournamentId);
+        locked(tournament, () -> {
+            SwissRound round = tournament.getCurrentRound();
+            if (round == null) {
+                throw new IllegalStateException("Pair a round before reporting results");
+            }
+
+            int table = request.table() - 1;
+            if (table < 0 || table >= round.getTables()) {
+                throw new IllegalArgumentException("There is no table " + request.table() + " in the current round");
+            }
+            if (round.getPlayer2()[table] == SwissRound.NONE) {
+                throw new IllegalArgumentException("Table " + request.table() + " is a bye");
+            }
+
+            int winner = seedAt(tournament, round, table, request.playerId());
+            int previous = round.setWinner(table, winner);
+
+            // Incremental scores, only the two players of the table can change
+            int[] points = tournament.getPoints();
+            if (previous != SwissRound.NONE) points[previous]--;
+            points[winner]++;
+            return null;
+        });
+    }
+
+    /**
+     * Standings (points, then seed) and the current round
+     * @throws TournamentNotFoundException if tournament doesn't exist
+     */
+    public SwissTournamentResponse getTournament(long tournamentId) {
+        SwissTournament tournament = getTournamentForUpdate(tournamentId);
+        return readLocked(tournament, () -> {
+            int[] ranking = pairingEngine.rank(tournament);
+            List<SwissStandingResponse> standings = new ArrayList<>(ranking.length);
+            for (int position = 0; position < ranking.length; position++) {
+                int seed = ranking[position];
+                standings.add(new SwissStandingResponse(position + 1,
+                        PlayerResponse.fromEntity(tournament.getPlayers()[seed]), tournament.getPoints()[seed]));
+            }
+
+            SwissRound round = tournament.getCurrentRound();
+            return new SwissTournamentResponse(tournament.getId(), standings,
+                    round != null ? SwissRoundResponse.fromEntity(tournament, round) : null);
+        });
+    }
+
+    public void deleteTournament(long tournamentId) {
+        if (tournaments.remove(tournamentId) == null) {
+            throw new TournamentNotFoundException("There is no Swiss tournament with id " + tournamentId);
+        }
+    }
+
+    private SwissTournament getTournamentForUpdate(long tournamentId) {
+        SwissTournament tournament = tournaments.get(tournamentId);
+        if (tournament == null) {
+            throw new TournamentNotFoundException("There is no Swiss tournament with id " + tournamentId);
+        }
+        return tournament;
+    }
+
+    private int seedAt(SwissTournament tournament, SwissRound round, int table, long playerId) {
+        int player1 = round.getPlayer1()[table];
+        int player2 = round.getPlayer2()[table];
+        if (tournament.getPlayers()[player1].getId() == playerId) return player1;
+        if (tournament.getPlayers()[player2].getId() == playerId) return player2;
+        throw new IllegalArgumentException("Player id not found in the players of the selected table");
+    }
+
+    private <T> T locked(SwissTournament tournament, Supplier<T> action) {
+        StampedLock lock = tournament.getLock();
+        long stamp = lock.writeLock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Standings only read the tournament, so concurrent views don't queue behind each other
+    private <T> T readLocked(SwissTournament tournament, Supplier<T> action) {
+        StampedLock lock = tournament.getLock();
+        long stamp = lock.readLock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.fightinggame.tournament.bracket.controller;
 import com.fightinggame.tournament.bracket.dto.BracketInitializationRequest;
 import com.fightinggame.tournament.bracket.dto.BracketResponse;
 import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.BracketFormat;
+import com.fightinggame.tournament.bracket.model.BracketSnapshot;
 import com.fightinggame.tournament.bracket.service.BracketService;
 import com.fightinggame.tournament.bracket.service.assigner.AssignmentType;
 import com.fightinggame.tournament.match.model.Match;
@@ -14,6 +16,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,7 +36,7 @@ class BracketControllerTest {
     @Test
     void createBracket_Success() {
         // Arrange
-        BracketInitializationRequest request = new BracketInitializationRequest(AssignmentType.FULLY_RANDOM);
+        BracketInitializationRequest request = new BracketInitializationRequest(AssignmentType.FULLY_RANDOM, null);
 
         // Act
         ResponseEntity<Void> response = bracketController.createBracket(request);
@@ -41,6 +47,21 @@ class BracketControllerTest {
     }
 
 
+    @Test
+    void importBracket_ReturnsNewBracketLocation() throws IOException {
+        // Arrange
+        InputStream file = new ByteArrayInputStream(new byte[]{1, 2, 3});
+        when(bracketService.importBracket(file, 3)).thenReturn(9L);
+
+        // Act
+        ResponseEntity<Void> response = bracketController.importBracket(3L, file);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("/bracket/9", response.getHeaders().getLocation().toString());
+    }
+
+
     @Test
     void getBracket_WithExistingBracket_ReturnsBracket() {
         // Arrange
@@ -51,12 +72,12 @@ class BracketControllerTest {
         Bracket mockBracket = new Bracket();
         mockBracket.setRootMatch(root);
 
-        BracketResponse expectedResponse = new BracketResponse(mockBracket);
+        BracketResponse expectedResponse = BracketResponse.fromEntity(mockBracket);
 
         when(bracketService.getCurrentBracket()).thenReturn(expectedResponse);
 
         // Act
-        ResponseEntity<BracketResponse> response = bracketController.getBracket();
+        ResponseEntity<BracketResponse> response = bracketController.getBracket(null);
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -70,7 +91,7 @@ class BracketControllerTest {
         when(bracketService.getCurrentBracket()).thenReturn(null);
 
         // When
-        ResponseEntity<BracketResponse> response = bracketController.getBracket();
+        ResponseEntity<BracketResponse> response = bracketController.getBracket(null);
 
         // Then
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
@@ -78,5 +99,52 @@ class BracketControllerTest {
         verify(bracketService).getCurrentBracket();
     }
 
+    @Test
+    void getBracketById_ReturnsBracket() {
+        // Arrange
+        Bracket mockBracket = new Bracket();
+        mockBracket.setId(7);
+        BracketResponse expectedResponse = BracketResponse.fromEntity(mockBracket);
+
+        when(bracketService.getBracket(7)).thenReturn(expectedResponse);
+
+        // Act
+        ResponseEntity<BracketResponse> response = bracketController.getBracketById(7, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expectedResponse, response.getBody());
+    }
+
+    @Test
+    void getBracket_SameVersion_ReturnsNotModified() {
+        // Arrange
+        BracketSnapshot snapshot = new BracketSnapshot(1, 5, BracketFormat.SINGLE_ELIMINATION, null);
+        when(bracketService.getCurrentBracket()).thenReturn(new BracketResponse(snapshot));
+
+        // Act
+        ResponseEntity<BracketResponse> response = bracketController.getBracket("W/\"1-5\"");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals("\"1-5\"", response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void getBracket_NewerVersion_ReturnsBracketWithETag() {
+        // Arrange
+        BracketResponse expectedResponse = new BracketResponse(new BracketSnapshot(1, 6, BracketFormat.SINGLE_ELIMINATION, null));
+        when(bracketService.getCurrentBracket()).thenReturn(expectedResponse);
+
+        // Act
+        ResponseEntity<BracketResponse> response = bracketController.getBracket("\"1-5\"");
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"1-6\"", response.getHeaders().getETag());
+        assertEquals(expectedResponse, response.getBody());
+    }
+
     // @Valid on createBracket covers problems with initializationRequest null cases
 }
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.fightinggame.tournament.bracket.service;
+
+import com.fightinggame.tournament.bracket.dto.BracketInitializationRequest;
+import com.fightinggame.tournament.bracket.dto.BracketJobResponse;
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.BracketJobStatus;
+import com.fightinggame.tournament.bracket.service.assigner.AssignmentType;
+import com.fightinggame.tournament.exception.model.JobNotFoundException;
+import com.fightinggame.tournament.exception.model.JobRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BracketJobServiceTest {
+
+    @Mock
+    private BracketService bracketService;
+
+    private BracketJobService jobService;
+
+    private final BracketInitializationRequest request =
+            new BracketInitializationRequest(AssignmentType.FULLY_RANDOM, null);
+    private final Bracket bracket = new Bracket();
+
+    // Holds the generation of the first job until released
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        // One thread and one queued job
+        jobService = new BracketJobService(bracketService, 1, 1, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        jobService.destroy();
+    }
+
+    @Test
+    void submit_generatesAndRegistersTheBracket() throws InterruptedException {
+        // Arrange
+        when(bracketService.buildBracket(request)).thenReturn(bracket);
+        when(bracketService.registerBracket(bracket)).thenReturn(7L);
+
+        // Act
+        BracketJobResponse queued = jobService.submit(request);
+        BracketJobResponse finished = awaitFinished(queued.id());
+
+        // Assert
+        assertEquals(BracketJobStatus.COMPLETED, finished.status());
+        assertEquals(7L, finished.bracketId());
+        assertNotNull(finished.finishedAt());
+    }
+
+    @Test
+    void submit_invalidRequest_throwsBeforeQueueing() {
+        // Arrange
+        doThrow(new IllegalArgumentException("AssignmentType cannot be null")).when(bracketService).validateRequest(any());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> jobService.submit(request));
+        verify(bracketService, never()).buildBracket(any());
+    }
+
+    @Test
+    void submit_generationFails_reportsTheMessage() throws InterruptedException {
+        // Arrange
+        when(bracketService.buildBracket(request)).thenThrow(new IllegalArgumentException("At least 3 players required"));
+
+        // Act
+        BracketJobResponse finished = awaitFinished(jobService.submit(request).id());
+
+        // Assert
+        assertEquals(BracketJobStatus.FAILED, finished.status());
+        assertEquals("At least 3 players required", finished.message());
+        verify(bracketService, never()).registerBracket(any());
+    }
+
+    @Test
+    void submit_generationError_isNotHandledButTheJobFails() throws InterruptedException {
+        // Arrange
+        when(bracketService.buildBracket(request)).thenThrow(new OutOfMemoryError("Java heap space"));
+
+        // Act
+        BracketJobResponse finished = awaitFinished(jobService.submit(request).id());
+
+        // Assert - the error itself is left to the executor
+        assertEquals(BracketJobStatus.FAILED, finished.status());
+        assertEquals("Bracket generation stopped by an internal error", finished.message());
+    }
+
+    @Test
+    void submit_queueFull_isRejected() throws InterruptedException {
+        // Arrange
+        blockGeneration();
+        jobService.submit(request);     // Running
+        started.await(5, TimeUnit.SECONDS);
+        jobService.submit(request);     // Queued
+
+        // Act & Assert
+        assertThrows(JobRejectedException.class, () -> jobService.submit(request));
+    }
+
+    @Test
+    void cancel_queuedJob_neverRunsAndFreesItsSlot() throws InterruptedException {
+        // Arrange
+        blockGeneration();
+        jobService.submit(request);
+        started.await(5, TimeUnit.SECONDS);
+        long queuedId = jobService.submit(request).id();
+
+        // Act
+        BracketJobResponse cancelled = jobService.cancel(queuedId);
+        jobService.submit(request);     // Takes the freed queue slot
+
+        // Assert
+        assertEquals(BracketJobStatus.CANCELLED, cancelled.status());
+        verify(bracketService, times(1)).buildBracket(request);
+    }
+
+    @Test
+    void cancel_runningJob_discardsItsBracket() throws InterruptedException {
+        // Arrange
+        blockGeneration();
+        long jobId = jobService.submit(request).id();
+        started.await(5, TimeUnit.SECONDS);
+
+        // Act
+        BracketJobResponse cancelled = jobService.cancel(jobId);
+        release.countDown();
+
+        // Assert
+        assertEquals(BracketJobStatus.CANCELLED, cancelled.status());
+        assertEquals(BracketJobStatus.CANCELLED, awaitFinished(jobId).status());
+        verify(bracketService, never()).registerBracket(any());
+    }
+
+    @Test
+    void getJob_unknownId_throwsException() {
+        assertThrows(JobNotFoundException.class, () -> jobService.getJob(99));
+    }
+
+    private void blockGeneration() {
+        when(bracketService.buildBracket(request)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return bracket;
+        });
+    }
+
+    private BracketJobResponse awaitFinished(long jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        BracketJobResponse job = jobService.getJob(jobId);
+        while (job.finishedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            job = jobService.getJob(jobId);
+        }
+        return job;
+    }
+}
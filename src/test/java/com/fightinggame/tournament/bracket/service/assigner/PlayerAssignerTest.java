@@ -0,0 +1,70 @@
+package com.fightinggame.tournament.bracket.service.assigner;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.service.generator.SingleEliminationGenerator;
+import com.fightinggame.tournament.match.model.Match;
+import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.shared.MatchOperator;
+import com.fightinggame.tournament.shared.TournamentMathUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerAssignerTest {
+
+    private final TournamentMathUtils mathUtils = new TournamentMathUtils();
+    private final MatchOperator matchOperator = new MatchOperator();
+    private final SingleEliminationGenerator generator = new SingleEliminationGenerator(mathUtils);
+    private final PlayerAssigner assigner = new RandomPlayerAssigner(matchOperator, mathUtils);
+
+    @Test
+    void assignmentExecution_parallel_seedsLikeSequential() {
+        // Arrange
+        int numPlayers = (1 << 17) + 3;    // Mostly byes
+        List<Player> players = players(numPlayers);
+        Bracket sequential = generator.generate(numPlayers);
+        Bracket parallel = generator.generate(numPlayers);
+
+        // Act
+        assigner.assignmentExecution(sequential, players, false);
+        assigner.assignmentExecution(parallel, players, true);
+
+        // Assert
+        Match[] expected = sequential.getMatches();
+        Match[] actual = parallel.getMatches();
+        for (int index = actual.length / 2; index < actual.length; index++) {
+            assertSame(expected[index].getPlayer1(), actual[index].getPlayer1());
+            assertSame(expected[index].getPlayer2(), actual[index].getPlayer2());
+        }
+    }
+
+    @Test
+    void assignmentExecution_eachPlayerGetsOneSlot() {
+        // Arrange
+        int numPlayers = 13;
+        Bracket bracket = generator.generate(numPlayers);
+
+        // Act
+        assigner.assignmentExecution(bracket, players(numPlayers), true);
+
+        // Assert
+        List<Long> assigned = new ArrayList<>();
+        for (Match leaf : matchOperator.getLeaves(bracket)) {
+            assertNotNull(leaf.getPlayer1());     // Every leaf has a first player, the rest are byes
+            assigned.add(leaf.getPlayer1().getId());
+            if (leaf.getPlayer2() != null) assigned.add(leaf.getPlayer2().getId());
+        }
+        assertEquals(numPlayers, assigned.stream().distinct().count());
+    }
+
+    private static List<Player> players(int count) {
+        List<Player> players = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            players.add(new Player(i, "Player " + i, 1000 + i % 700));
+        }
+        return players;
+    }
+}
@@ -0,0 +1,77 @@
+package com.fightinggame.tournament.bracket.service.generator;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.match.model.Match;
+import com.fightinggame.tournament.shared.TournamentMathUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleEliminationGeneratorTest {
+
+    private final DoubleEliminationGenerator generator =
+            new DoubleEliminationGenerator(new SingleEliminationGenerator(new TournamentMathUtils()));
+
+    @Test
+    void generate_shouldBuildGrandFinalsAndReset() {
+        // Act
+        Bracket bracket = generator.generate(8);
+
+        // Assert - 7 winners matches, 6 losers matches, grand finals (14) and reset (15)
+        assertTrue(bracket.isDoubleElimination());
+        assertEquals(8, bracket.getLosersMatches().length);
+        Match reset = bracket.getRootMatch();
+        Match grandFinal = bracket.getGrandFinal();
+        assertEquals(15, reset.getReferenceValue());
+        assertEquals(14, grandFinal.getReferenceValue());
+        assertSame(grandFinal, reset.getLeftMatch());
+        assertSame(bracket.getMatches()[1], grandFinal.getLeftMatch());
+        assertSame(grandFinal, grandFinal.getRightMatch().getParentMatch());
+        assertEquals(13, grandFinal.getRightMatch().getReferenceValue());   // Losers final
+    }
+
+    @Test
+    void generate_shouldRouteEveryWinnersLoserToTheLosersBracket() {
+        // Act
+        Bracket bracket = generator.generate(8);
+
+        // Assert - leaves 1,3 drop into 8 and 5,7 into 9, semifinals into the drop round (reversed), final into 13
+        assertEquals(8, bracket.getLoserMatch(1).getReferenceValue());
+        assertEquals(8, bracket.getLoserMatch(3).getReferenceValue());
+        assertEquals(9, bracket.getLoserMatch(5).getReferenceValue());
+        assertEquals(9, bracket.getLoserMatch(7).getReferenceValue());
+        assertEquals(11, bracket.getLoserMatch(2).getReferenceValue());
+        assertEquals(10, bracket.getLoserMatch(6).getReferenceValue());
+        assertEquals(13, bracket.getLoserMatch(4).getReferenceValue());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 4, 8, 64, 8192})
+    void generate_everyLosersMatchShouldHaveTwoInputs(int numPlayers) {
+        // Act
+        Bracket bracket = generator.generate(numPlayers);
+
+        // Assert - child matches plus drops add up to two players per match, grand finals included
+        int numOfSpaces = bracket.getMatches().length;
+        int[] inputs = new int[numOfSpaces];
+        for (int referenceValue = 1; referenceValue < numOfSpaces; referenceValue++) {
+            inputs[bracket.getDropTable()[referenceValue] - numOfSpaces]++;
+        }
+        Match[] losersMatches = bracket.getLosersMatches();
+        for (int index = 0; index < numOfSpaces - 1; index++) {
+            Match match = losersMatches[index];
+            int children = (match.getLeftMatch() != null ? 1 : 0) + (match.getRightMatch() != null ? 1 : 0);
+            assertEquals(2, inputs[index] + children, "match " + match.getReferenceValue());
+            assertSame(match, bracket.getMatch(match.getReferenceValue()));
+            if (match.getLeftMatch() != null) assertSame(match, match.getLeftMatch().getParentMatch());
+            if (match.getRightMatch() != null) assertSame(match, match.getRightMatch().getParentMatch());
+        }
+    }
+
+    @Test
+    void generate_lessThanTwoPlayers_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> generator.generate(1));
+    }
+}
@@ -11,6 +11,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.concurrent.CancellationException;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -136,6 +138,69 @@ class SingleEliminationGeneratorTest {
         assertNull(rightRight.getRightMatch());
     }
 
+    @Test
+    void generate_shouldBuildLargeBracketsLevelByLevel() {
+        // Arrange
+        int numPlayers = 100_000;
+        when(mathUtils.nextPowerOfTwo(numPlayers)).thenReturn(1 << 17);
+        when(mathUtils.calculateDepth(1 << 17)).thenReturn(17);
+
+        // Act
+        Bracket bracket = generator.generate(numPlayers);
+
+        // Assert
+        Match[] matches = bracket.getMatches();
+        assertEquals(1 << 16, bracket.getRootMatch().getReferenceValue());
+        for (int index = 2; index < matches.length; index++) {
+            Match match = matches[index];
+            assertSame(matches[index / 2], match.getParentMatch());
+            assertSame(match, bracket.getMatch(match.getReferenceValue()));
+        }
+        for (int index = matches.length / 2; index < matches.length; index++) {
+            assertEquals(1, matches[index].getReferenceValue() % 2);   // Leaves have odd values
+            assertNull(matches[index].getLeftMatch());
+        }
+    }
+
+    @Test
+    void generate_parallel_buildsTheSameBracketAsSequential() {
+        // Arrange
+        int numPlayers = (1 << 17) + 1;
+        when(mathUtils.nextPowerOfTwo(numPlayers)).thenReturn(1 << 18);
+        when(mathUtils.calculateDepth(1 << 18)).thenReturn(18);
+
+        // Act
+        Match[] sequential = generator.generate(numPlayers, false).getMatches();
+        Match[] parallel = generator.generate(numPlayers, true).getMatches();
+
+        // Assert
+        assertEquals(sequential.length, parallel.length);
+        for (int index = 1; index < parallel.length; index++) {
+            assertEquals(sequential[index].getReferenceValue(), parallel[index].getReferenceValue());
+            assertSame(index == 1 ? null : parallel[index / 2], parallel[index].getParentMatch());
+            if (index < parallel.length / 2) {
+                assertSame(parallel[2 * index], parallel[index].getLeftMatch());
+                assertSame(parallel[2 * index + 1], parallel[index].getRightMatch());
+            }
+        }
+    }
+
+    @Test
+    void generate_parallelForInterruptedThread_stopsEarly() {
+        // Arrange
+        int numPlayers = 1 << 17;
+        when(mathUtils.nextPowerOfTwo(numPlayers)).thenReturn(numPlayers);
+        when(mathUtils.calculateDepth(numPlayers)).thenReturn(17);
+        Thread.currentThread().interrupt();     // As a cancelled job
+
+        // Act & Assert
+        try {
+            assertThrows(CancellationException.class, () -> generator.generate(numPlayers, true));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
     private int calculateNextPowerOfTwo(int value) {
         int power = 2;
         while (power < value) power *= 2;
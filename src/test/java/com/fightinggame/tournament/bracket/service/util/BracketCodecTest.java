@@ -0,0 +1,254 @@
+package com.fightinggame.tournament.bracket.service.util;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.BracketFormat;
+import com.fightinggame.tournament.bracket.model.BracketRecord;
+import com.fightinggame.tournament.bracket.service.assigner.RankedPlayerAssigner;
+import com.fightinggame.tournament.bracket.service.generator.DoubleEliminationGenerator;
+import com.fightinggame.tournament.bracket.service.generator.SingleEliminationGenerator;
+import com.fightinggame.tournament.match.model.Match;
+import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.shared.MatchOperator;
+import com.fightinggame.tournament.shared.TournamentMathUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BracketCodecTest {
+
+    private final TournamentMathUtils mathUtils = new TournamentMathUtils();
+    private final MatchOperator operator = new MatchOperator();
+    private final SingleEliminationGenerator singleGenerator = new SingleEliminationGenerator(mathUtils);
+    private final RankedPlayerAssigner assigner = new RankedPlayerAssigner(operator, mathUtils);
+    private final ByeMatchSimplifier simplifier = new ByeMatchSimplifier(operator);
+    private final BracketCodec codec = new BracketCodec();
+
+    private final Map<Long, Player> players = new HashMap<>();
+
+    @Test
+    void decode_singleEliminationWithByesAndResults_rebuildsSameBracket() {
+        // Arrange
+        Bracket bracket = singleGenerator.generate(5);
+        assigner.assignPlayers(bracket, players(5));
+        simplifier.simplify(bracket);
+        Match playable = firstPlayable(bracket);
+        playable.setWinner(playable.getPlayer1());
+        operator.allocateWinner(playable.getParentMatch(), playable);
+        bracket.setId(7);
+        bracket.setVersion(3);
+
+        // Act
+        BracketRecord record = codec.encode(bracket);
+        Bracket decoded = codec.decode(record, players::get);
+
+        // Assert
+        assertEquals(BracketFormat.SINGLE_ELIMINATION, record.getFormat());
+        assertEquals(7, decoded.getId());
+        assertEquals(3, decoded.getVersion());
+        assertEquals(5, codec.playerIds(record).length);
+        assertSameStructure(bracket, decoded);
+    }
+
+    @Test
+    void decode_doubleEliminationWithPrunedLosersMatches_rebuildsSameBracket() {
+        // Arrange
+        Bracket bracket = new DoubleEliminationGenerator(singleGenerator).generate(6);
+        assigner.assignPlayers(bracket, players(6));
+        simplifier.simplify(bracket);
+        Match playable = firstPlayable(bracket);
+        playable.setWinner(playable.getPlayer2());
+        operator.advanceResult(bracket, playable, new ArrayList<>());
+
+        // Act
+        Bracket decoded = codec.decode(codec.encode(bracket), players::get);
+
+        // Assert
+        assertTrue(decoded.isDoubleElimination());
+        assertArrayEquals(bracket.getDropTable(), decoded.getDropTable());
+        assertSame(decoded.getMatches()[1], decoded.getGrandFinal().getLeftMatch());
+        assertSameStructure(bracket, decoded);
+    }
+
+    @Test
+    void decode_sharesOnePlayerInstancePerId() {
+        // Arrange
+        Bracket bracket = singleGenerator.generate(4);
+        assigner.assignPlayers(bracket, players(4));
+        Match playable = firstPlayable(bracket);
+        playable.setWinner(playable.getPlayer1());
+        operator.allocateWinner(playable.getParentMatch(), playable);
+
+        // Act
+        Bracket decoded = codec.decode(codec.encode(bracket), id -> new Player(id, "Player " + id));
+
+        // Assert
+        Match decodedMatch = decoded.getMatch(playable.getReferenceValue());
+        assertSame(decodedMatch.getPlayer1(), decodedMatch.getWinner());
+        Match parent = decodedMatch.getParentMatch();
+        assertTrue(parent.getPlayer1() == decodedMatch.getWinner() || parent.getPlayer2() == decodedMatch.getWinner());
+    }
+
+    @Test
+    void importBracket_exportedDoubleElimination_rebuildsSameBracketWithItsPlayers() {
+        // Arrange
+        Bracket bracket = new DoubleEliminationGenerator(singleGenerator).generate(6);
+        assigner.assignPlayers(bracket, players(6));
+        simplifier.simplify(bracket);
+        Match playable = firstPlayable(bracket);
+        playable.setWinner(playable.getPlayer1());
+        operator.advanceResult(bracket, playable, new ArrayList<>());
+        bracket.setVersion(4);
+
+        // Act
+        byte[] file = codec.exportBracket(bracket);
+        Bracket imported = codec.importBracket(ByteBuffer.wrap(file));
+
+        // Assert
+        assertEquals(4, imported.getVersion());
+        assertArrayEquals(bracket.getDropTable(), imported.getDropTable());
+        assertSameStructure(bracket, imported);
+        Player winner = imported.getMatch(playable.getReferenceValue()).getWinner();
+        assertEquals(playable.getWinner().getNickname(), winner.getNickname());
+        assertEquals(playable.getWinner().getRating(), winner.getRating());
+    }
+
+    @Test
+    void importBracket_directBuffer_decodesInPlace() {
+        // Arrange
+        Bracket bracket = singleGenerator.generate(5);
+        assigner.assignPlayers(bracket, players(5));
+        simplifier.simplify(bracket);
+        byte[] file = codec.exportBracket(bracket);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(file.length).put(file).flip();
+
+        // Act
+        Bracket imported = codec.importBracket(buffer);
+
+        // Assert
+        assertSameStructure(bracket, imported);
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void importBracket_notABracketFile_throwsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.importBracket(ByteBuffer.wrap("{\"bracket\":{}}".getBytes())));
+    }
+
+    @Test
+    void importBracket_truncatedFile_throwsException() {
+        // Arrange
+        Bracket bracket = singleGenerator.generate(4);
+        assigner.assignPlayers(bracket, players(4));
+        byte[] file = codec.exportBracket(bracket);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.importBracket(ByteBuffer.wrap(file, 0, file.length - 3)));
+    }
+
+    @Test
+    void importBracket_losersChildCycle_throwsException() {
+        // Arrange - losers match 8 made a child of 10, which is already its next match
+        byte[] file = exportedDoubleElimination();
+        ByteBuffer.wrap(file).putInt(losersSlot(file, 8, 0, 3), 10);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> codec.importBracket(ByteBuffer.wrap(file)));
+    }
+
+    @Test
+    void importBracket_unknownPlayerIndex_throwsException() {
+        // Arrange
+        byte[] file = exportedDoubleElimination();
+        ByteBuffer.wrap(file).putInt(losersSlot(file, 8, 0, 0), 99);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> codec.importBracket(ByteBuffer.wrap(file)));
+    }
+
+    @Test
+    void importBracket_dropIntoUnknownMatch_throwsException() {
+        // Arrange - the drop table is the last numOfSpaces ints
+        byte[] file = exportedDoubleElimination();
+        ByteBuffer.wrap(file).putInt(file.length - Integer.BYTES, 3);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> codec.importBracket(ByteBuffer.wrap(file)));
+    }
+
+    @Test
+    void exportBracket_writesTheFormatCode() {
+        // Act
+        byte[] file = exportedDoubleElimination();
+
+        // Assert - after the magic and the file version
+        assertEquals(BracketFormat.DOUBLE_ELIMINATION.getCode(), file[Integer.BYTES + Short.BYTES]);
+    }
+
+    @Test
+    void exportBracket_nicknameTooLong_throwsException() {
+        // Arrange
+        Bracket bracket = singleGenerator.generate(4);
+        List<Player> players = players(4);
+        players.get(0).setNickname("x".repeat(70_000));
+        assigner.assignPlayers(bracket, players);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> codec.exportBracket(bracket));
+    }
+
+    private byte[] exportedDoubleElimination() {
+        Bracket bracket = new DoubleEliminationGenerator(singleGenerator).generate(8);
+        assigner.assignPlayers(bracket, players(8));
+        return codec.exportBracket(bracket);
+    }
+
+    // Byte offset of an int of a losers match in an exported file
+    private int losersSlot(byte[] file, int numOfSpaces, int losersIndex, int slot) {
+        int slotsStart = file.length - Integer.BYTES * (3 * (numOfSpaces - 1) + 6 * numOfSpaces);
+        return slotsStart + Integer.BYTES * (3 * (numOfSpaces - 1) + 5 * losersIndex + slot);
+    }
+
+    private void assertSameStructure(Bracket expected, Bracket actual) {
+        assertEquals(expected.getRootMatch(), actual.getRootMatch());
+        int references = expected.getMatches().length * (expected.isDoubleElimination() ? 2 : 1);
+        for (int referenceValue = 1; referenceValue < references; referenceValue++) {
+            Match expectedMatch = expected.getMatch(referenceValue);
+            Match actualMatch = actual.getMatch(referenceValue);
+            if (expectedMatch == null) {
+                assertNull(actualMatch, "Match " + referenceValue + " should be pruned");
+                continue;
+            }
+            assertEquals(expectedMatch, actualMatch);
+            assertEquals(referenceOf(expectedMatch.getParentMatch()), referenceOf(actualMatch.getParentMatch()));
+        }
+    }
+
+    private Integer referenceOf(Match match) {
+        return match != null ? match.getReferenceValue() : null;
+    }
+
+    private Match firstPlayable(Bracket bracket) {
+        return operator.getLeaves(bracket).stream()
+                .filter(match -> match.getPlayer1() != null && match.getPlayer2() != null)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<Player> players(int count) {
+        List<Player> list = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            Player player = new Player(id, "Player " + id, id * 100);
+            players.put((long) id, player);
+            list.add(player);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,91 @@
+package com.fightinggame.tournament.bracket.service.util;
+
+import com.fightinggame.tournament.bracket.dto.BracketChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BracketEventBroadcasterTest {
+
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch firstSend = new CountDownLatch(1);
+
+    // Client that blocks on its first write until released, like a spectator on a slow connection
+    private final BracketEventBroadcaster broadcaster = new BracketEventBroadcaster(2, 1, 0) {
+        @Override
+        SseEmitter createEmitter(long timeoutMillis) {
+            return new SseEmitter(timeoutMillis) {
+                @Override
+                public void send(SseEventBuilder builder) {
+                    firstSend.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    sent.add(builder.build().iterator().next().getData().toString());
+                }
+            };
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Test
+    void publish_slowConsumer_getsResyncInsteadOfBacklog() throws InterruptedException {
+        // Arrange
+        broadcaster.subscribe(null);
+        assertTrue(firstSend.await(5, TimeUnit.SECONDS));     // Sender is stuck writing the initial resync
+
+        // Act
+        for (int version = 1; version <= 10; version++) {
+            broadcaster.publish(new BracketChangeEvent(1, version, List.of()));     // Never waits on the client
+        }
+        release.countDown();
+
+        // Assert
+        waitForSends(3);
+        // Overflowed deltas were dropped for one resync, only what arrived after the last overflow is still sent
+        assertEquals(3, sent.size());
+        assertTrue(sent.get(0).contains("event:resync"));
+        assertTrue(sent.get(1).contains("event:resync"));
+        assertTrue(sent.get(2).contains("id:1-10"));
+    }
+
+    @Test
+    void publish_otherBracket_isNotForwarded() throws InterruptedException {
+        // Arrange
+        release.countDown();
+        broadcaster.subscribe(1L);
+        waitForSends(1);
+
+        // Act
+        broadcaster.publish(new BracketChangeEvent(2, 1, List.of()));
+        broadcaster.publish(new BracketChangeEvent(1, 3, List.of()));
+
+        // Assert
+        waitForSends(2);
+        assertEquals(2, sent.size());
+        assertTrue(sent.get(1).contains("id:1-3"));
+        assertTrue(sent.get(1).contains("event:match"));
+    }
+
+    private void waitForSends(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sent.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);   // Give an unexpected extra send the chance to show up
+    }
+}
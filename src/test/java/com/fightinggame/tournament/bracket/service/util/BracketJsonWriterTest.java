@@ -0,0 +1,100 @@
+package com.fightinggame.tournament.bracket.service.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.service.assigner.RankedPlayerAssigner;
+import com.fightinggame.tournament.bracket.service.generator.SingleEliminationGenerator;
+import com.fightinggame.tournament.match.model.Match;
+import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.shared.MatchOperator;
+import com.fightinggame.tournament.shared.TournamentMathUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BracketJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MatchOperator operator = new MatchOperator();
+    private final BracketJsonWriter writer = new BracketJsonWriter(objectMapper);
+
+    private Bracket bracket;
+
+    @BeforeEach
+    void setup() {
+        TournamentMathUtils mathUtils = new TournamentMathUtils();
+        bracket = new SingleEliminationGenerator(mathUtils).generate(5);
+
+        List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            players.add(new Player(i, "Player " + i, i * 100));
+        }
+        new RankedPlayerAssigner(operator, mathUtils).assignPlayers(bracket, players);
+        new ByeMatchSimplifier(operator).simplify(bracket);
+        bracket.setId(3);
+    }
+
+    @Test
+    void writeFlat_shouldWriteEveryPlayerOnceAndEveryMatch() throws IOException {
+        // Arrange - a first round result so one player appears in two matches
+        Match playable = operator.getLeaves(bracket).stream()
+                .filter(match -> match.getPlayer1() != null && match.getPlayer2() != null)
+                .findFirst().orElseThrow();
+        playable.setWinner(playable.getPlayer1());
+        operator.allocateWinner(playable.getParentMatch(), playable);
+        operator.publishSnapshot(bracket);
+
+        // Act
+        JsonNode json = write();
+
+        // Assert
+        assertEquals(3, json.get("id").asLong());
+
+        Set<Long> playerIds = new HashSet<>();
+        json.get("players").forEach(player -> assertTrue(playerIds.add(player.get("id").asLong())));
+        assertEquals(Set.of(1L, 2L, 3L, 4L, 5L), playerIds);
+
+        int matches = 0;
+        for (JsonNode match : json.get("matches")) {
+            matches++;
+            if (match.get("referenceValue").asInt() == playable.getReferenceValue()) {
+                assertEquals(playable.getPlayer1().getId(), match.get("winner").asLong());
+            }
+        }
+        assertEquals(matchesIn(bracket.getRootMatch()), matches);
+    }
+
+    @Test
+    void writeFlat_shouldReferenceChildrenByValue() throws IOException {
+        // Arrange
+        operator.publishSnapshot(bracket);
+
+        // Act
+        JsonNode root = write().get("matches").get(0);
+
+        // Assert - pre-order, so the finals come first
+        assertEquals(bracket.getRootMatch().getReferenceValue(), root.get("referenceValue").asInt());
+        assertEquals(bracket.getRootMatch().getLeftMatch().getReferenceValue(), root.get("leftMatch").asInt());
+        assertTrue(root.get("winner").isNull());
+    }
+
+    private JsonNode write() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writer.writeFlat(bracket.getSnapshot(), outputStream);
+        return objectMapper.readTree(outputStream.toByteArray());
+    }
+
+    private int matchesIn(Match match) {
+        if (match == null) return 0;
+        return 1 + matchesIn(match.getLeftMatch()) + matchesIn(match.getRightMatch());
+    }
+}
@@ -0,0 +1,114 @@
+package com.fightinggame.tournament.bracket.service.util;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BracketRegistryTest {
+
+    private BracketRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        registry = new BracketRegistry();
+    }
+
+    @Test
+    void restoreBracket_shouldKeepIdsAndContinueAfterThem() {
+        // Arrange
+        Bracket fifth = new Bracket();
+        fifth.setId(5);
+        Bracket second = new Bracket();
+        second.setId(2);
+
+        // Act
+        registry.restoreBracket(fifth);
+        registry.restoreBracket(second);
+        long nextId = registry.storeBracket(new Bracket());
+
+        // Assert
+        assertSame(second, registry.getBracket(2).orElseThrow());
+        assertEquals(6, nextId);
+    }
+
+    @Test
+    void restoreBracket_highestIdBecomesCurrent() {
+        // Arrange
+        Bracket fifth = new Bracket();
+        fifth.setId(5);
+        Bracket second = new Bracket();
+        second.setId(2);
+
+        // Act
+        registry.restoreBracket(fifth);
+        registry.restoreBracket(second);
+
+        // Assert
+        assertSame(fifth, registry.getCurrentBracket());
+    }
+
+    @Test
+    void storeBracket_shouldAssignIdAndBecomeCurrent() {
+        // Arrange
+        Bracket first = new Bracket();
+        Bracket second = new Bracket();
+
+        // Act
+        long firstId = registry.storeBracket(first);
+        long secondId = registry.storeBracket(second);
+
+        // Assert
+        assertNotEquals(firstId, secondId);
+        assertEquals(firstId, first.getId());
+        assertSame(first, registry.getBracket(firstId).orElseThrow());
+        assertSame(second, registry.getBracket(secondId).orElseThrow());
+        assertSame(second, registry.getCurrentBracket());
+    }
+
+    @Test
+    void getBracket_shouldReturnEmpty_whenIdIsUnknown() {
+        assertTrue(registry.getBracket(42).isEmpty());
+    }
+
+    @Test
+    void removeBracket_shouldClearCurrentOnlyWhenItWasRemoved() {
+        // Arrange
+        long firstId = registry.storeBracket(new Bracket());
+        Bracket second = new Bracket();
+        long secondId = registry.storeBracket(second);
+
+        // Act & Assert
+        assertTrue(registry.removeBracket(firstId));
+        assertSame(second, registry.getCurrentBracket());
+
+        assertTrue(registry.removeBracket(secondId));
+        assertNull(registry.getCurrentBracket());
+
+        assertFalse(registry.removeBracket(secondId));
+    }
+
+    @Test
+    void storeBracket_shouldKeepEveryBracket_whenStoredConcurrently() throws InterruptedException {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> registry.storeBracket(new Bracket()));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(1000, registry.getAllBrackets().size());
+        for (long id = 1; id <= 1000; id++) {
+            assertTrue(registry.getBracket(id).isPresent());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.fightinggame.tournament.bracket.service.util;
+
+import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.BracketRecord;
+import com.fightinggame.tournament.bracket.repository.BracketRecordRepository;
+import com.fightinggame.tournament.bracket.service.generator.SingleEliminationGenerator;
+import com.fightinggame.tournament.shared.TournamentMathUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BracketWriteBehindTest {
+
+    @Mock
+    private BracketRecordRepository repository;
+
+    @Mock
+    private MatchJournal journal;
+
+    private BracketWriteBehind writeBehind;
+    private Bracket bracket;
+
+    @BeforeEach
+    void setUp() {
+        // Long delay, flushes are triggered by the tests
+        writeBehind = new BracketWriteBehind(repository, new BracketCodec(), journal, 3_600_000);
+        bracket = new SingleEliminationGenerator(new TournamentMathUtils()).generate(4);
+        bracket.setId(1);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writeBehind.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_severalChanges_storedOnce() {
+        // Arrange
+        writeBehind.markDirty(bracket);
+        bracket.setVersion(2);
+        writeBehind.markDirty(bracket);
+        ArgumentCaptor<List<BracketRecord>> records = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        writeBehind.flush();
+        writeBehind.flush();
+
+        // Assert
+        verify(repository).saveAll(records.capture());
+        assertEquals(1, records.getValue().size());
+        assertEquals(2, records.getValue().get(0).getVersion());
+    }
+
+    @Test
+    void flush_deletedBracket_isNotStoredAgain() {
+        // Arrange
+        writeBehind.markDirty(bracket);
+        writeBehind.markDeleted(1);
+        writeBehind.markDirty(bracket);     // A late result on the deleted bracket
+
+        // Act
+        writeBehind.flush();
+
+        // Assert
+        verify(repository, never()).saveAll(any());
+        verify(repository).deleteAllById(List.of(1L));
+    }
+
+    @Test
+    void flush_failedWrite_isRetried() {
+        // Arrange
+        when(repository.saveAll(any())).thenThrow(new IllegalStateException("Database down")).thenReturn(List.of());
+        writeBehind.markDirty(bracket);
+
+        // Act
+        writeBehind.flush();
+        writeBehind.flush();
+
+        // Assert
+        verify(repository, times(2)).saveAll(any());
+        verify(journal, times(1)).checkpoint(anyLong());    // Only after the write that succeeded
+    }
+
+    @Test
+    void flush_everythingStored_checkpointsTheJournalPositionFromBeforeTheFlush() {
+        // Arrange
+        when(journal.position()).thenReturn(42L);
+        writeBehind.markDirty(bracket);
+
+        // Act
+        writeBehind.flush();
+
+        // Assert
+        verify(repository).saveAll(any());
+        verify(journal).checkpoint(42L);
+    }
+
+    @Test
+    void store_writesRightAway() {
+        // Act
+        writeBehind.store(bracket);
+
+        // Assert
+        verify(repository).save(argThat(record -> record.getId() == 1));
+    }
+
+    @Test
+    void markDirty_disabled_doesNothing() {
+        // Arrange
+        BracketWriteBehind disabled = new BracketWriteBehind(repository, new BracketCodec(), journal, 0);
+
+        // Act
+        disabled.markDirty(bracket);
+        disabled.flush();
+
+        // Assert
+        assertFalse(disabled.isEnabled());
+        verifyNoInteractions(repository);
+    }
+}
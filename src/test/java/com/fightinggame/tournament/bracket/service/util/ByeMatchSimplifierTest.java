@@ -1,6 +1,8 @@
 package com.fightinggame.tournament.bracket.service.util;
 
 import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.service.assigner.RandomPlayerAssigner;
+import com.fightinggame.tournament.bracket.service.generator.DoubleEliminationGenerator;
 import com.fightinggame.tournament.bracket.service.generator.SingleEliminationGenerator;
 import com.fightinggame.tournament.match.model.Match;
 import com.fightinggame.tournament.shared.MatchOperator;
@@ -13,6 +15,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -99,6 +104,9 @@ class ByeMatchSimplifierTest {
         assertNull(root.getRightMatch());
         assertEquals(p1, root.getPlayer1());
         assertEquals(p2, root.getPlayer2());
+        assertNull(leftLeaf.getParentMatch());
+        assertNull(rightLeaf.getParentMatch());
+        assertNull(bracket.getMatch(leftLeaf.getReferenceValue()));
     }
 
     @Test
@@ -142,4 +150,70 @@ class ByeMatchSimplifierTest {
         // Verify that the spy was called
         verify(operator, times(1)).allocateWinner(any(), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void simplify_doubleElimination_shouldSkipLosersMatchesWithoutPlayers() {
+        // Arrange - 5 players in 8 spaces: leaves 3, 5 and 7 are byes
+        DoubleEliminationGenerator doubleGenerator = new DoubleEliminationGenerator(generator);
+        Bracket bracket = doubleGenerator.generate(5);
+        for (int referenceValue = 1; referenceValue < 8; referenceValue += 2) {
+            bracket.getMatch(referenceValue).setPlayer1(new Player(referenceValue, "Player" + referenceValue));
+        }
+        bracket.getMatch(1).setPlayer2(new Player(9, "Player9"));
+
+        // Act
+        simplifier.simplify(bracket);
+
+        // Assert - losers round 1 (8, 9) is gone: the loser of 1 drops straight into 10,
+        // and the drop round match 10 hands its only input (loser of 6) on to 12
+        assertNull(bracket.getMatch(8));
+        assertNull(bracket.getMatch(9));
+        assertEquals(10, bracket.getLoserMatch(1).getReferenceValue());
+        Match match10 = bracket.getMatch(10);
+        assertNull(match10.getLeftMatch());
+        assertNull(bracket.getMatch(11));
+        assertEquals(12, bracket.getLoserMatch(2).getReferenceValue());
+        assertEquals(10, bracket.getLoserMatch(6).getReferenceValue());
+        Match match12 = bracket.getMatch(12);
+        assertSame(match10, match12.getLeftMatch());
+        assertNull(match12.getRightMatch());
+        assertSame(match12, match10.getParentMatch());
+        assertNotNull(bracket.getGrandFinal().getRightMatch());
+    }
+
+    @Test
+    void simplify_parallel_prunesLikeSequential() {
+        // Arrange - 40% byes
+        int numPlayers = (1 << 17) + (1 << 16) + (1 << 15);
+        Bracket sequential = seededBracket(numPlayers);
+        Bracket parallel = seededBracket(numPlayers);
+        ByeMatchSimplifier byeSimplifier = new ByeMatchSimplifier(new MatchOperator());
+
+        // Act
+        byeSimplifier.simplify(sequential, false);
+        byeSimplifier.simplify(parallel, true);
+
+        // Assert
+        Match[] expected = sequential.getMatches();
+        Match[] actual = parallel.getMatches();
+        for (int index = 1; index < actual.length; index++) {
+            assertEquals(expected[index] == null, actual[index] == null);
+            if (actual[index] == null) continue;
+            assertEquals(expected[index].getPlayer1(), actual[index].getPlayer1());
+            assertEquals(expected[index].getPlayer2(), actual[index].getPlayer2());
+            assertEquals(expected[index].getLeftMatch() == null, actual[index].getLeftMatch() == null);
+            assertEquals(expected[index].getRightMatch() == null, actual[index].getRightMatch() == null);
+        }
+        assertNull(parallel.getMatches()[actual.length - 1]);     // The last first round match is a bye
+    }
+
+    private Bracket seededBracket(int numPlayers) {
+        Bracket bracket = generator.generate(numPlayers);
+        List<Player> players = new ArrayList<>(numPlayers);
+        for (int i = 1; i <= numPlayers; i++) {
+            players.add(new Player(i, "Player" + i));
+        }
+        new RandomPlayerAssigner(new MatchOperator(), new TournamentMathUtils()).assignmentExecution(bracket, players);
+        return bracket;
+    }
+}
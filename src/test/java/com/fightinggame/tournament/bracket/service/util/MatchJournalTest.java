@@ -0,0 +1,226 @@
+package com.fightinggame.tournament.bracket.service.util;
+
+import com.fightinggame.tournament.bracket.model.JournalEntry;
+import com.fightinggame.tournament.bracket.model.JournalOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<MatchJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (MatchJournal journal : opened) journal.destroy();
+    }
+
+    @Test
+    void replay_afterReopen_returnsTheGroupsInOrder() throws InterruptedException {
+        // Arrange
+        MatchJournal journal = open(4);
+        journal.awaitDurable(journal.append(entry(JournalOperation.INITIALIZE, 1, 0)));
+        journal.awaitDurable(journal.append(List.of(entry(JournalOperation.SELECT_WINNER, 2, 1),
+                entry(JournalOperation.SELECT_WINNER, 2, 3))));
+        journal.awaitDurable(journal.append(entry(JournalOperation.DESELECT_WINNER, 3, 1)));
+        journal.awaitDurable(journal.append(entry(JournalOperation.SELECT_WINNER, 4, 2)));  // Second segment
+        journal.destroy();
+        List<List<JournalEntry>> groups = new ArrayList<>();
+
+        // Act
+        long count = open(4).replay(groups::add);
+
+        // Assert
+        assertEquals(5, count);
+        assertEquals(List.of(1, 2, 1, 1), groups.stream().map(List::size).toList());
+        assertEquals(entry(JournalOperation.SELECT_WINNER, 2, 3), groups.get(1).get(1));
+        assertEquals(JournalOperation.DESELECT_WINNER, groups.get(2).get(0).operation());
+        assertEquals(4, groups.get(3).get(0).version());
+    }
+
+    @Test
+    void append_rollingSegments_keepsEveryEntryForTheSyncThread() throws InterruptedException {
+        // Arrange - seven entries over four segments, nobody waits for the disk
+        MatchJournal journal = open(2);
+        long position = 0;
+        for (int version = 1; version <= 7; version++) {
+            position = journal.append(entry(JournalOperation.SELECT_WINNER, version, 1));
+        }
+        journal.awaitDurable(position);
+        journal.destroy();
+        List<JournalEntry> replayed = new ArrayList<>();
+
+        // Act
+        open(2).replay(replayed::addAll);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), replayed.stream().map(JournalEntry::version).toList());
+    }
+
+    @Test
+    void awaitDurable_forceFails_throwsInsteadOfWaiting() {
+        // Arrange - a disk that refuses every write
+        MatchJournal journal = new MatchJournal(directory, true, 4, true) {
+            @Override
+            void force(MappedByteBuffer buffer, int index, int length) {
+                throw new UncheckedIOException(new IOException("No space left on device"));
+            }
+        };
+        opened.add(journal);
+        long position = journal.append(entry(JournalOperation.SELECT_WINNER, 2, 1));
+
+        // Act
+        UncheckedIOException thrown = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(UncheckedIOException.class, () -> journal.awaitDurable(position)));
+
+        // Assert
+        assertEquals("No space left on device", thrown.getCause().getCause().getCause().getMessage());
+        assertThrows(UncheckedIOException.class, () -> journal.append(entry(JournalOperation.SELECT_WINNER, 3, 1)));
+    }
+
+    @Test
+    void append_segmentCannotBeCreated_keepsTheFullSegmentOnce() throws IOException, InterruptedException {
+        // Arrange - a folder where the second segment file should go
+        MatchJournal journal = open(2);
+        journal.append(entry(JournalOperation.SELECT_WINNER, 1, 1));
+        journal.append(entry(JournalOperation.SELECT_WINNER, 2, 1));
+        Path blocked = Files.createDirectory(directory.resolve("journal-00000000000000000002.log"));
+
+        // Act
+        assertThrows(UncheckedIOException.class, () -> journal.append(entry(JournalOperation.SELECT_WINNER, 3, 1)));
+        Files.delete(blocked);
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> journal.awaitDurable(journal.append(entry(JournalOperation.SELECT_WINNER, 3, 1))));
+        journal.destroy();
+        List<JournalEntry> replayed = new ArrayList<>();
+        open(2).replay(replayed::addAll);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), replayed.stream().map(JournalEntry::version).toList());
+    }
+
+    @Test
+    void replay_tornRecord_stopsBeforeItsGroup() throws IOException, InterruptedException {
+        // Arrange
+        MatchJournal journal = open(8);
+        journal.append(entry(JournalOperation.SELECT_WINNER, 2, 1));
+        journal.append(List.of(entry(JournalOperation.SELECT_WINNER, 3, 1), entry(JournalOperation.SELECT_WINNER, 3, 3)));
+        journal.destroy();
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            file.seek(2L * MatchJournal.RECORD_SIZE + 20);      // Inside the second entry of the batch
+            file.write(0x7f);
+        }
+        List<List<JournalEntry>> groups = new ArrayList<>();
+
+        // Act
+        open(8).replay(groups::add);
+
+        // Assert
+        assertEquals(1, groups.size());
+        assertEquals(2, groups.get(0).get(0).version());
+    }
+
+    @Test
+    void replay_failedGroup_quarantinesItsSegment() throws IOException, InterruptedException {
+        // Arrange - the failing entry is in the first segment, the second one replays fine
+        MatchJournal journal = open(2);
+        journal.append(entry(JournalOperation.SELECT_WINNER, 2, 1));
+        journal.append(entry(JournalOperation.SELECT_WINNER, 3, 1));
+        journal.append(entry(JournalOperation.SELECT_WINNER, 4, 1));
+        journal.destroy();
+        MatchJournal reopened = open(2);
+
+        // Act
+        long count = reopened.replay(group -> {
+            if (group.get(0).version() == 3) throw new IllegalStateException("Match must have two players");
+        });
+        reopened.checkpoint(reopened.position());
+
+        // Assert
+        assertEquals(3, count);
+        List<String> files = segments().stream().map(path -> path.getFileName().toString()).toList();
+        assertTrue(files.contains("journal-00000000000000000000.log.quarantined"));
+        assertFalse(files.contains("journal-00000000000000000002.log"));     // Replayed, then checkpointed
+        assertEquals(0, open(2).replay(group -> fail("Quarantined entries are not replayed again")));
+    }
+
+    @Test
+    void checkpoint_deletesOnlyTheSegmentsBeforeThePosition() throws IOException {
+        // Arrange
+        MatchJournal journal = open(2);
+        for (int version = 1; version <= 5; version++) {
+            journal.append(entry(JournalOperation.SELECT_WINNER, version, 1));
+        }
+
+        // Act
+        journal.checkpoint(journal.position() - 1);
+
+        // Assert
+        assertEquals(5, journal.position());
+        assertEquals(1, segments().size());     // Full segments [0, 2) and [2, 4) are gone
+    }
+
+    @Test
+    void position_entriesNotReplayed_isZero() throws InterruptedException {
+        // Arrange
+        MatchJournal journal = open(4);
+        journal.append(entry(JournalOperation.SELECT_WINNER, 2, 1));
+        journal.destroy();
+        MatchJournal reopened = open(4);
+
+        // Act
+        long beforeReplay = reopened.position();
+        reopened.replay(group -> {});
+
+        // Assert
+        assertEquals(0, beforeReplay);
+        assertEquals(1, reopened.position());
+    }
+
+    @Test
+    void append_disabled_doesNothing() {
+        // Arrange
+        MatchJournal disabled = MatchJournal.disabled();
+
+        // Act
+        long position = disabled.append(entry(JournalOperation.SELECT_WINNER, 2, 1));
+        disabled.awaitDurable(position);
+
+        // Assert
+        assertFalse(disabled.isEnabled());
+        assertEquals(0, position);
+        assertEquals(0, disabled.replay(group -> fail("Nothing to replay")));
+    }
+
+    private MatchJournal open(int segmentRecords) {
+        MatchJournal journal = new MatchJournal(directory, true, segmentRecords, true);
+        opened.add(journal);
+        return journal;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static JournalEntry entry(JournalOperation operation, long version, int matchReferenceValue) {
+        return new JournalEntry(operation, 7, version, matchReferenceValue, 11, 1_700_000_000_000L + version);
+    }
+}
@@ -1,20 +1,35 @@
 package com.fightinggame.tournament.match.service;
 
-import com.fightinggame.tournament.bracket.dto.BracketResponse;
 import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.JournalEntry;
+import com.fightinggame.tournament.bracket.model.JournalOperation;
+import com.fightinggame.tournament.bracket.dto.BracketChangeEvent;
 import com.fightinggame.tournament.bracket.service.BracketService;
+import com.fightinggame.tournament.bracket.service.generator.DoubleEliminationGenerator;
+import com.fightinggame.tournament.bracket.service.generator.SingleEliminationGenerator;
+import com.fightinggame.tournament.bracket.service.util.BracketEventBroadcaster;
+import com.fightinggame.tournament.bracket.service.util.BracketWriteBehind;
+import com.fightinggame.tournament.bracket.service.util.MatchJournal;
+import com.fightinggame.tournament.exception.model.BracketNotFoundException;
 import com.fightinggame.tournament.exception.model.MatchNotFoundException;
+import com.fightinggame.tournament.match.dto.SelectWinnerRequest;
+import com.fightinggame.tournament.match.dto.WinnerBatchResponse;
+import com.fightinggame.tournament.match.dto.WinnerOutcomeStatus;
 import com.fightinggame.tournament.match.model.Match;
 import com.fightinggame.tournament.player.model.Player;
 import com.fightinggame.tournament.shared.MatchOperator;
+import com.fightinggame.tournament.shared.TournamentMathUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -27,6 +42,15 @@ class MatchServiceTest {
     @Spy
     private MatchOperator bracketOperator = new MatchOperator();
 
+    @Mock
+    private BracketEventBroadcaster bracketEventBroadcaster;
+
+    @Mock
+    private BracketWriteBehind bracketWriteBehind;
+
+    @Mock
+    private MatchJournal matchJournal;
+
     @InjectMocks
     private MatchService matchService;
 
@@ -50,6 +74,8 @@ class MatchServiceTest {
         right = new Match(); right.setReferenceValue(3);
         root.setLeftMatch(left);
         root.setRightMatch(right);
+        left.setParentMatch(root);
+        right.setParentMatch(root);
 
         player1 = new Player(1, "Player 1");
         left.setPlayer1(player1);
@@ -57,7 +83,7 @@ class MatchServiceTest {
         left.setPlayer2(player2);
 
         // Mock the get bracket response
-        when(bracketService.getCurrentBracket()).thenReturn(BracketResponse.fromEntity(bracket));
+        when(bracketService.getCurrentBracketForUpdate()).thenReturn(bracket);
     }
 
 
@@ -77,6 +103,49 @@ class MatchServiceTest {
     }
 
 
+    @Test
+    void selectWinner_publishesNewSnapshot() {
+        // Arrange
+        when(bracketOperator.searchParentMatch(bracket, 1)).thenReturn(root);
+        when(bracketOperator.searchMatch(bracket, 1)).thenReturn(left);
+
+        // Act
+        matchService.selectWinner(1, 1);
+
+        // Assert
+        assertNotNull(bracket.getSnapshot());
+        assertEquals(player1, bracket.getSnapshot().rootMatch().leftMatch().winner());
+        assertEquals(player1, bracket.getSnapshot().rootMatch().player1());
+    }
+
+
+    @Test
+    void selectWinner_broadcastsChangedMatches() {
+        // Arrange
+        bracketOperator.publishSnapshot(bracket);
+        when(bracketOperator.searchParentMatch(bracket, 1)).thenReturn(root);
+        when(bracketOperator.searchMatch(bracket, 1)).thenReturn(left);
+        ArgumentCaptor<BracketChangeEvent> event = ArgumentCaptor.forClass(BracketChangeEvent.class);
+
+        // Act
+        matchService.selectWinner(1, 1);
+
+        // Assert
+        verify(bracketEventBroadcaster).publish(event.capture());
+        assertEquals(bracket.getVersion(), event.getValue().version());
+        assertEquals(2, event.getValue().matches().size());
+        assertEquals(1, event.getValue().matches().get(0).referenceValue());
+        assertEquals(player1, event.getValue().matches().get(0).winner());
+        assertEquals(2, event.getValue().matches().get(1).referenceValue());
+        assertEquals(player1, event.getValue().matches().get(1).player1());
+        verify(bracketWriteBehind).markDirty(bracket);
+        verify(matchJournal).append(
+                argThat((JournalEntry entry) -> entry.operation() == JournalOperation.SELECT_WINNER
+                        && entry.version() == bracket.getVersion() && entry.matchReferenceValue() == 1
+                        && entry.playerId() == 1));
+    }
+
+
     @Test
     void selectWinner_selectPlayer2AsWinner() {
         // Arrange
@@ -198,6 +267,34 @@ class MatchServiceTest {
         assertEquals(player1, root.getPlayer2());
     }
 
+    @Test
+    void selectWinner_failedSelection_releasesBracketLock() {
+        // Arrange
+        when(bracketOperator.searchMatch(bracket, 999)).thenReturn(null);
+
+        // Act
+        assertThrows(MatchNotFoundException.class,
+                () -> matchService.selectWinner(999, 1));
+
+        // Assert
+        assertFalse(bracket.getLock().isWriteLocked());
+    }
+
+    @Test
+    void selectWinner_bracketDeletedWhileWaiting_writesNothing() {
+        // Arrange
+        bracket.setDeleted(true);   // The delete got the write lock first
+
+        // Act
+        assertThrows(BracketNotFoundException.class,
+                () -> matchService.selectWinner(1, 1));
+
+        // Assert
+        assertNull(left.getWinner());
+        assertFalse(bracket.getLock().isWriteLocked());
+        verifyNoInteractions(bracketWriteBehind, matchJournal);
+    }
+
     @Test
     void deselectWinner_validSelection_clearsWinner() {
         // Arrange
@@ -249,7 +346,7 @@ class MatchServiceTest {
     @Test
     void deselectWinner_noCurrentBracket_throwsException() {
         // Arrange
-        when(bracketService.getCurrentBracket()).thenReturn(BracketResponse.fromEntity(null));
+        when(bracketService.getCurrentBracketForUpdate()).thenReturn(null);
 
         // Act & Assert
         assertThrows(IllegalStateException.class,
@@ -272,4 +369,102 @@ class MatchServiceTest {
         verify(bracketOperator).clearPlayerWins(bracket, 1, 1L);
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void selectWinners_appliesInBracketOrderAsOneVersion() {
+        // Arrange
+        Player player3 = new Player(3, "Player 3");
+        right.setPlayer1(player3);
+        right.setPlayer2(new Player(4, "Player 4"));
+        bracketOperator.publishSnapshot(bracket);
+        long version = bracket.getVersion();
+        List<SelectWinnerRequest> requests = List.of(      // Finals submitted before the matches that fill it
+                new SelectWinnerRequest(2, 3),
+                new SelectWinnerRequest(1, 1),
+                new SelectWinnerRequest(3, 3));
+
+        // Act
+        WinnerBatchResponse response = matchService.selectWinners(requests);
+
+        // Assert
+        assertTrue(response.committed());
+        assertEquals(version + 1, response.version());
+        assertEquals(player3, root.getWinner());
+        assertEquals(player3, bracket.getSnapshot().rootMatch().winner());
+        assertTrue(response.results().stream().allMatch(result -> result.status() == WinnerOutcomeStatus.APPLIED));
+        assertEquals(2, response.results().get(0).matchReferenceValue());
+        verify(bracketEventBroadcaster, times(1)).publish(any());
+        verify(matchJournal).append(
+                argThat((List<JournalEntry> entries) -> entries.stream().map(JournalEntry::matchReferenceValue).toList()
+                        .equals(List.of(1, 3, 2))));
+        assertTrue(bracket.getLock().tryWriteLock() != 0);     // released
+    }
+
+
+    @Test
+    void selectWinners_oneRejected_restoresEveryMatch() {
+        // Arrange
+        right.setPlayer1(new Player(3, "Player 3"));
+        right.setPlayer2(new Player(4, "Player 4"));
+        bracketOperator.publishSnapshot(bracket);
+        long version = bracket.getVersion();
+        List<SelectWinnerRequest> requests = List.of(
+                new SelectWinnerRequest(1, 1),
+                new SelectWinnerRequest(3, 999));
+
+        // Act
+        WinnerBatchResponse response = matchService.selectWinners(requests);
+
+        // Assert
+        assertFalse(response.committed());
+        assertEquals(version, response.version());
+        assertEquals(WinnerOutcomeStatus.DISCARDED, response.results().get(0).status());
+        assertEquals(WinnerOutcomeStatus.REJECTED, response.results().get(1).status());
+        assertNotNull(response.results().get(1).message());
+        assertNull(left.getWinner());
+        assertNull(root.getPlayer1());
+        verify(bracketEventBroadcaster, never()).publish(any());
+        verify(matchJournal, never()).append(anyList());
+    }
+
+
+    @Test
+    void selectWinners_doubleElimination_appliesLosersRoundsAfterTheirInputs() {
+        // Arrange - 8 players, losers match 8 feeds 10, which also gets the loser of 6
+        Bracket doubleBracket = new DoubleEliminationGenerator(new SingleEliminationGenerator(new TournamentMathUtils()))
+                .generate(8);
+        for (int referenceValue = 1; referenceValue < 8; referenceValue += 2) {
+            doubleBracket.getMatch(referenceValue).setPlayer1(new Player(referenceValue, "Player " + referenceValue));
+            doubleBracket.getMatch(referenceValue).setPlayer2(new Player(referenceValue + 1, "Player " + (referenceValue + 1)));
+        }
+        when(bracketService.getCurrentBracketForUpdate()).thenReturn(doubleBracket);
+        List<SelectWinnerRequest> requests = List.of(      // Later rounds submitted first
+                new SelectWinnerRequest(10, 2),
+                new SelectWinnerRequest(8, 2),
+                new SelectWinnerRequest(6, 5),
+                new SelectWinnerRequest(1, 1),
+                new SelectWinnerRequest(3, 3),
+                new SelectWinnerRequest(5, 5),
+                new SelectWinnerRequest(7, 7));
+
+        // Act
+        WinnerBatchResponse response = matchService.selectWinners(requests);
+
+        // Assert
+        assertTrue(response.committed());
+        assertTrue(response.results().stream().allMatch(result -> result.status() == WinnerOutcomeStatus.APPLIED));
+        assertEquals(2L, doubleBracket.getMatch(10).getWinner().getId());
+        assertEquals(7L, doubleBracket.getMatch(10).getPlayer1().getId());     // Loser of 6 dropped in first
+        verify(matchJournal).append(
+                argThat((List<JournalEntry> entries) -> entries.stream().map(JournalEntry::matchReferenceValue).toList()
+                        .equals(List.of(1, 3, 5, 7, 6, 8, 10))));
+    }
+
+
+    @Test
+    void selectWinners_emptyBatch_throwsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> matchService.selectWinners(List.of()));
+    }
+
+}
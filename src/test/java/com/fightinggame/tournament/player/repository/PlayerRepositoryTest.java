@@ -0,0 +1,112 @@
+package com.fightinggame.tournament.player.repository;
+
+import com.fightinggame.tournament.player.dto.PlayerResponse;
+import com.fightinggame.tournament.player.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class PlayerRepositoryTest {
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            players.add(Player.builder().nickname("Player " + i).rating(i % 5 * 100).build());    // Five players per rating
+        }
+        playerRepository.saveAll(players);
+        playerRepository.flush();
+    }
+
+    @Test
+    void findPageOrderById_walksEveryPlayerOnce() {
+        // Act
+        List<PlayerResponse> all = new ArrayList<>();
+        long afterId = 0;
+        List<PlayerResponse> page;
+        do {
+            page = playerRepository.findPageOrderById(afterId, Limit.of(7));
+            all.addAll(page);
+            if (!page.isEmpty()) afterId = page.get(page.size() - 1).id();
+        } while (page.size() == 7);
+
+        // Assert
+        assertEquals(25, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).id() < all.get(i).id());
+        }
+    }
+
+    @Test
+    void findPageOrderByRating_continuesInsideTiedRatings() {
+        // Act
+        List<PlayerResponse> all = new ArrayList<>();
+        int afterRating = Integer.MAX_VALUE;
+        long afterId = 0;
+        List<PlayerResponse> page;
+        do {
+            page = playerRepository.findPageOrderByRating(afterRating, afterId, Limit.of(3));
+            all.addAll(page);
+            if (!page.isEmpty()) {
+                afterRating = page.get(page.size() - 1).rating();
+                afterId = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == 3);
+
+        // Assert
+        assertEquals(25, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            PlayerResponse previous = all.get(i - 1);
+            PlayerResponse current = all.get(i);
+            assertTrue(previous.rating() > current.rating()
+                    || (previous.rating() == current.rating() && previous.id() < current.id()));
+        }
+    }
+
+    @Test
+    void findEntrantsByIdIn_buildsUnmanagedPlayers() {
+        // Arrange
+        List<PlayerResponse> registered = playerRepository.findAllResponses();
+        PlayerResponse first = registered.get(0);
+        PlayerResponse last = registered.get(registered.size() - 1);
+
+        // Act
+        List<Player> entrants = playerRepository.findEntrantsByIdIn(List.of(last.id(), first.id()));
+
+        // Assert
+        assertEquals(List.of(new Player(first.id(), first.nickname(), first.rating()),
+                new Player(last.id(), last.nickname(), last.rating())), entrants);
+        assertFalse(entityManager.getEntityManager().contains(entrants.get(0)));
+    }
+
+    @Test
+    void streamAll_returnsEveryPlayerById() {
+        // Act
+        List<PlayerResponse> all;
+        try (Stream<PlayerResponse> players = playerRepository.streamAll()) {
+            all = players.toList();
+        }
+
+        // Assert
+        assertEquals(25, all.size());
+        assertEquals(playerRepository.findPageOrderById(0, Limit.of(25)), all);
+    }
+}
@@ -0,0 +1,95 @@
+package com.fightinggame.tournament.player.service;
+
+import com.fightinggame.tournament.player.dto.PlayerImportError;
+import com.fightinggame.tournament.player.dto.PlayerImportResponse;
+import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.player.repository.PlayerRepository;
+import com.fightinggame.tournament.player.service.util.PlayerRecordReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "tournament.import.batch-size=3")
+@ActiveProfiles("test")
+class PlayerImportServiceTest {
+
+    @Autowired
+    private PlayerImportService playerImportService;
+
+    @MockitoSpyBean
+    private PlayerRepository playerRepository;
+
+    @AfterEach
+    void tearDown() {
+        playerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importPlayers_severalBatches_persistsValidRowsAndReportsRejected() throws IOException {
+        // Arrange - ten valid rows in batches of three, a short nickname and a negative rating in between
+        StringBuilder csv = new StringBuilder("nickname,rating\n");
+        for (int i = 1; i <= 10; i++) {
+            csv.append("Player ").append(i).append(',').append(i * 10).append('\n');
+            if (i == 4) csv.append("ab,100\n");
+            if (i == 7) csv.append("Negative,-5\n");
+        }
+
+        // Act
+        PlayerImportResponse response = playerImportService.importPlayers(stream(csv.toString()), PlayerRecordReader.TEXT_CSV);
+
+        // Assert
+        assertEquals(10, response.imported());
+        assertEquals(2, response.rejected());
+        assertEquals(6, response.errors().get(0).line());
+        assertEquals(10, response.errors().get(1).line());
+        assertEquals(10, playerRepository.count());
+        verify(playerRepository, times(4)).saveAll(anyList());     // Three full batches and the rest
+    }
+
+    @Test
+    void importPlayers_manyRejectedRows_capsTheReportedErrors() throws IOException {
+        // Arrange
+        String csv = "x,1\n".repeat(150) + "Daigo,100\n";
+
+        // Act
+        PlayerImportResponse response = playerImportService.importPlayers(stream(csv), PlayerRecordReader.TEXT_CSV);
+
+        // Assert
+        assertEquals(1, response.imported());
+        assertEquals(150, response.rejected());
+        assertEquals(100, response.errors().size());
+        assertEquals(100, response.errors().get(99).line());
+        assertTrue(response.errors().stream().map(PlayerImportError::message).allMatch(message -> message.contains("between 3 and 20")));
+    }
+
+    @Test
+    void importPlayers_databaseFailsOnLaterBatch_importsNothing() {
+        // Arrange - the first batch is flushed, the second one fails
+        doThrow(new DataIntegrityViolationException("Disk full")).when(playerRepository).saveAll(
+                argThat((List<Player> batch) -> batch.stream().anyMatch(player -> player.getNickname().equals("Tokido"))));
+        String csv = "Punk,200\nMenaRD,190\nLeshar,150\nTokido,140\nDaigo,130\n";
+
+        // Act
+        assertThrows(DataIntegrityViolationException.class,
+                () -> playerImportService.importPlayers(stream(csv), PlayerRecordReader.TEXT_CSV));
+
+        // Assert
+        assertEquals(0, playerRepository.count());
+    }
+
+    private ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
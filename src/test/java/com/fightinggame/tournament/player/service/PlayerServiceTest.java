@@ -0,0 +1,79 @@
+package com.fightinggame.tournament.player.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fightinggame.tournament.player.dto.PlayerOrder;
+import com.fightinggame.tournament.player.dto.PlayerPageResponse;
+import com.fightinggame.tournament.player.dto.PlayerResponse;
+import com.fightinggame.tournament.player.repository.PlayerRepository;
+import com.fightinggame.tournament.player.service.util.PlayerCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlayerServiceTest {
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private PlayerCache playerCache;
+
+    @InjectMocks
+    private PlayerService playerService;
+
+    @Test
+    void getPlayerPage_ratingOrderWithOnlyAfterId_throwsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> playerService.getPlayerPage(PlayerOrder.RATING, 42L, null, 10));
+        verifyNoInteractions(playerRepository);
+    }
+
+    @Test
+    void getPlayerPage_ratingOrderWithOnlyAfterRating_throwsException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> playerService.getPlayerPage(PlayerOrder.RATING, null, 300, 10));
+        verifyNoInteractions(playerRepository);
+    }
+
+    @Test
+    void getPlayerPage_ratingOrderWithFullCursor_continuesAfterIt() {
+        // Arrange
+        List<PlayerResponse> rows = List.of(new PlayerResponse(43, "Daigo", 300), new PlayerResponse(7, "Tokido", 200));
+        when(playerRepository.findPageOrderByRating(300, 42L, Limit.of(2))).thenReturn(rows);
+
+        // Act
+        PlayerPageResponse page = playerService.getPlayerPage(PlayerOrder.RATING, 42L, 300, 1);
+
+        // Assert
+        assertEquals(List.of(rows.get(0)), page.players());
+        assertEquals(43L, page.nextAfterId());
+        assertEquals(300, page.nextAfterRating());
+    }
+
+    @Test
+    void getPlayerPage_idOrderWithoutRating_continuesAfterId() {
+        // Arrange
+        when(playerRepository.findPageOrderById(42L, Limit.of(11))).thenReturn(List.of());
+
+        // Act
+        PlayerPageResponse page = playerService.getPlayerPage(PlayerOrder.ID, 42L, null, 10);
+
+        // Assert
+        assertTrue(page.players().isEmpty());
+        assertNull(page.nextAfterId());
+    }
+}
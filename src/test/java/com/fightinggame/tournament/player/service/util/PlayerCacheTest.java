@@ -0,0 +1,141 @@
+package com.fightinggame.tournament.player.service.util;
+
+import com.fightinggame.tournament.player.dto.PlayerCacheStats;
+import com.fightinggame.tournament.player.dto.PlayerResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerCacheTest {
+
+    private static final long TTL = 1_000;
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final PlayerCache cache = new PlayerCache(2, TTL, now::get);
+
+    @Test
+    void get_secondRead_isServedFromCache() {
+        // Act
+        cache.get(1, this::load);
+        Optional<PlayerResponse> player = cache.get(1, this::load);
+
+        // Assert
+        assertEquals(Optional.of(player(1)), player);
+        assertEquals(1, loads.get());
+        assertStats(1, 1, 0, 1);
+    }
+
+    @Test
+    void get_absentPlayer_isNotCached() {
+        // Act
+        cache.get(1, id -> Optional.empty());
+        cache.get(1, id -> Optional.empty());
+
+        // Assert
+        assertStats(0, 2, 0, 0);
+    }
+
+    @Test
+    void get_expiredEntry_isLoadedAgain() {
+        // Arrange
+        cache.get(1, this::load);
+        now.addAndGet(TTL);
+
+        // Act
+        cache.get(1, this::load);
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertStats(0, 2, 1, 1);
+    }
+
+    @Test
+    void get_overMaxSize_evictsLeastRecentlyUsed() {
+        // Arrange
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        cache.get(1, this::load);      // 2 is now the least recently used
+
+        // Act
+        cache.get(3, this::load);
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+
+        // Assert - 1 stayed, 2 was evicted and loaded again (evicting 3)
+        assertEquals(4, loads.get());
+        assertStats(2, 4, 2, 2);
+    }
+
+    @Test
+    void get_writeDuringLoad_doesNotCacheTheOldValue() {
+        // Act - the player is updated while the read is loading the previous version
+        cache.get(1, id -> {
+            cache.invalidate(id);
+            return load(id);
+        });
+        cache.get(1, this::load);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getRoster_invalidatedByWrites() {
+        // Arrange
+        cache.getRoster(this::loadRoster);
+        cache.getRoster(this::loadRoster);
+
+        // Act
+        cache.put(player(3));
+        List<PlayerResponse> roster = cache.getRoster(this::loadRoster);
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertThrows(UnsupportedOperationException.class, () -> roster.add(player(4)));
+        assertEquals(Optional.of(player(3)), cache.get(3, this::load));
+        assertTrue(cache.getStats().rosterCached());
+    }
+
+    @Test
+    void invalidate_dropsOnlyThatPlayer() {
+        // Arrange
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+
+        // Act
+        cache.invalidate(1);
+
+        // Assert
+        assertEquals(1, cache.getStats().size());
+        cache.get(2, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<PlayerResponse> load(long id) {
+        loads.incrementAndGet();
+        return Optional.of(player(id));
+    }
+
+    private List<PlayerResponse> loadRoster() {
+        loads.incrementAndGet();
+        return List.of(player(1), player(2));
+    }
+
+    private PlayerResponse player(long id) {
+        return new PlayerResponse(id, "Player " + id, 100);
+    }
+
+    private void assertStats(long hits, long misses, long evictions, int size) {
+        PlayerCacheStats stats = cache.getStats();
+        assertEquals(hits, stats.hits());
+        assertEquals(misses, stats.misses());
+        assertEquals(evictions, stats.evictions());
+        assertEquals(size, stats.size());
+    }
+}
@@ -0,0 +1,100 @@
+package com.fightinggame.tournament.player.service.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fightinggame.tournament.player.dto.PlayerRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerRecordReaderTest {
+
+    private final PlayerRecordReader reader = new PlayerRecordReader(new ObjectMapper());
+
+    private final List<PlayerRequest> accepted = new ArrayList<>();
+    private final List<Long> rejectedLines = new ArrayList<>();
+
+    private final PlayerRecordReader.PlayerRecordHandler handler = new PlayerRecordReader.PlayerRecordHandler() {
+        @Override
+        public void accept(long line, PlayerRequest request) {
+            accepted.add(request);
+        }
+
+        @Override
+        public void reject(long line, String message) {
+            rejectedLines.add(line);
+        }
+    };
+
+    @Test
+    void read_csvWithHeader_usesHeaderColumns() throws IOException {
+        // Arrange
+        String csv = "rating,nickname\n100,Daigo\n\n,\"Tokido, Jr\"\n";
+
+        // Act
+        reader.read(stream(csv), PlayerRecordReader.TEXT_CSV, handler);
+
+        // Assert
+        assertEquals(List.of(new PlayerRequest("Daigo", 100), new PlayerRequest("Tokido, Jr", 0)), accepted);
+        assertTrue(rejectedLines.isEmpty());
+    }
+
+    @Test
+    void read_csvWithByteOrderMarkAndBlankFirstLine_stillFindsHeader() throws IOException {
+        // Arrange
+        String csv = "\uFEFF\n  \nrating,nickname\n100,Daigo\n";
+
+        // Act
+        reader.read(stream(csv), PlayerRecordReader.TEXT_CSV, handler);
+
+        // Assert
+        assertEquals(List.of(new PlayerRequest("Daigo", 100)), accepted);
+        assertTrue(rejectedLines.isEmpty());
+    }
+
+    @Test
+    void read_csvHeaderWithoutNickname_throwsException() {
+        // Arrange
+        String csv = "\uFEFFrating,name\n100,Daigo\n";
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> reader.read(stream(csv), PlayerRecordReader.TEXT_CSV, handler));
+        assertTrue(accepted.isEmpty());
+    }
+
+    @Test
+    void read_csvWithoutHeader_rejectsBadRatingAndContinues() throws IOException {
+        // Arrange
+        String csv = "Punk,200\nMenaRD,abc\nLeshar,150";
+
+        // Act
+        reader.read(stream(csv), PlayerRecordReader.TEXT_CSV, handler);
+
+        // Assert
+        assertEquals(List.of(new PlayerRequest("Punk", 200), new PlayerRequest("Leshar", 150)), accepted);
+        assertEquals(List.of(2L), rejectedLines);
+    }
+
+    @Test
+    void read_ndjson_rejectsMalformedLines() throws IOException {
+        // Arrange
+        String ndjson = "{\"nickname\":\"Punk\",\"rating\":200}\n{\"nickname\":\n{\"nickname\":\"Leshar\",\"rating\":150}\n";
+
+        // Act
+        reader.read(stream(ndjson), PlayerRecordReader.APPLICATION_NDJSON, handler);
+
+        // Assert
+        assertEquals(List.of(new PlayerRequest("Punk", 200), new PlayerRequest("Leshar", 150)), accepted);
+        assertEquals(List.of(2L), rejectedLines);
+    }
+
+    private ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,137 @@
+package com.fightinggame.tournament.pool.service;
+
+import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.pool.model.Pool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolGeneratorTest {
+
+    private final PoolGenerator generator = new PoolGenerator();
+
+    @Test
+    void generate_snakeSeedsByRating() {
+        // Arrange - ids 1..8 with rating 10 * id, so the best rated is id 8
+        List<Player> players = players(8);
+
+        // Act
+        Pool[] pools = generator.generate(players, 4);
+
+        // Assert - seeds 1, 4, 5, 8 and 2, 3, 6, 7
+        assertEquals(2, pools.length);
+        assertArrayEquals(new long[] {8, 5, 4, 1}, ids(pools[0]));
+        assertArrayEquals(new long[] {7, 6, 3, 2}, ids(pools[1]));
+    }
+
+    @Test
+    void generate_unevenField_poolSizesDifferByOne() {
+        // Act
+        Pool[] pools = generator.generate(players(10), 4);
+
+        // Assert
+        assertEquals(3, pools.length);
+        assertEquals(4, pools[0].size());
+        assertEquals(3, pools[1].size());
+        assertEquals(3, pools[2].size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4, 5, 6, 7, 8})
+    void schedule_everyPairOnceAndOneMatchPerRound(int size) {
+        // Act
+        Pool pool = generator.generate(players(size), 8)[0];
+
+        // Assert
+        assertEquals(size * (size - 1) / 2, pool.getMatches());
+        Set<Integer> pairs = new HashSet<>();
+        Set<Integer> busy = new HashSet<>();
+        int round = 0;
+        for (int match = 0; match < pool.getMatches(); match++) {
+            if (pool.getRound()[match] != round) {
+                round = pool.getRound()[match];
+                busy.clear();
+            }
+            int player1 = pool.getPlayer1()[match];
+            int player2 = pool.getPlayer2()[match];
+            assertNotEquals(player1, player2);
+            assertTrue(pairs.add(player1 * size + player2));
+            assertTrue(busy.add(player1));
+            assertTrue(busy.add(player2));
+        }
+        assertEquals(size % 2 == 0 ? size - 1 : size, pool.getRounds());
+    }
+
+    @Test
+    void generate_manyPools_allScheduled() {
+        // Act
+        Pool[] pools = generator.generate(players(10_000), 8);
+
+        // Assert
+        for (Pool pool : pools) {
+            assertEquals(pool.size() * (pool.size() - 1) / 2, pool.getMatches());
+        }
+    }
+
+    @Test
+    void setWinner_updatesStandingsIncrementally() {
+        // Arrange
+        Pool pool = generator.generate(players(4), 4)[0];
+        int last = 3;
+
+        // Act - the lowest seed beats everybody
+        for (int match = 0; match < pool.getMatches(); match++) {
+            if (pool.getPlayer2()[match] == last) pool.setWinner(match, last);
+        }
+
+        // Assert
+        assertEquals(last, pool.getRanking()[0]);
+        assertEquals(3, pool.getWins()[last]);
+        assertArrayEquals(new int[] {3, 0, 1, 2}, pool.getRanking());
+    }
+
+    @Test
+    void setWinner_replacedResult_movesBothPlayers() {
+        // Arrange
+        Pool pool = generator.generate(players(4), 4)[0];
+        int match = 0;
+        int player1 = pool.getPlayer1()[match];
+        int player2 = pool.getPlayer2()[match];
+        pool.setWinner(match, player1);
+
+        // Act
+        int previous = pool.setWinner(match, player2);
+
+        // Assert
+        assertEquals(player1, previous);
+        assertEquals(1, pool.getWins()[player2]);
+        assertEquals(0, pool.getWins()[player1]);
+        assertEquals(1, pool.getLosses()[player1]);
+        assertEquals(0, pool.getLosses()[player2]);
+        assertEquals(player2, pool.getRanking()[0]);
+        assertEquals(pool.getMatches() - 1, pool.getPendingResults());
+    }
+
+    private List<Player> players(int count) {
+        List<Player> players = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            players.add(new Player(id, "Player " + id, id * 10));
+        }
+        return players;
+    }
+
+    private long[] ids(Pool pool) {
+        long[] ids = new long[pool.size()];
+        for (int index = 0; index < ids.length; index++) {
+            ids[index] = pool.getPlayers()[index].getId();
+        }
+        return ids;
+    }
+}
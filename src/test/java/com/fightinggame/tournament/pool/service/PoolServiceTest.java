@@ -0,0 +1,109 @@
+package com.fightinggame.tournament.pool.service;
+
+import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.player.service.PlayerService;
+import com.fightinggame.tournament.pool.dto.PoolInitializationRequest;
+import com.fightinggame.tournament.pool.dto.PoolMatchResponse;
+import com.fightinggame.tournament.pool.dto.PoolResponse;
+import com.fightinggame.tournament.pool.dto.PoolResultRequest;
+import com.fightinggame.tournament.pool.dto.PoolStandingResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PoolServiceTest {
+
+    @Mock
+    private PlayerService playerService;
+
+    @Spy
+    private PoolGenerator poolGenerator = new PoolGenerator();
+
+    @InjectMocks
+    private PoolService poolService;
+
+    // A single pool of four players, first match of the schedule
+    private long tournamentId;
+    private PoolMatchResponse firstMatch;
+
+    @BeforeEach
+    void setUp() {
+        List<Player> players = new ArrayList<>();
+        for (int id = 1; id <= 4; id++) {
+            players.add(new Player(id, "Player " + id, id * 10));
+        }
+        when(playerService.getEntrants(null)).thenReturn(players);
+
+        tournamentId = poolService.createTournament(new PoolInitializationRequest(4));
+        firstMatch = poolService.getTournament(tournamentId).pools().get(0).matches().get(0);
+    }
+
+    @Test
+    void reportResult_firstResult_countsWinAndLoss() {
+        // Arrange
+        long winnerId = firstMatch.player2().id();
+
+        // Act
+        PoolResponse pool = poolService.reportResult(tournamentId, new PoolResultRequest(1, 1, winnerId));
+
+        // Assert
+        assertEquals(winnerId, pool.matches().get(0).winnerId());
+        assertEquals(winnerId, pool.standings().get(0).player().id());
+        assertEquals(1, standingOf(pool, winnerId).wins());
+        assertEquals(1, standingOf(pool, firstMatch.player1().id()).losses());
+        assertFalse(pool.complete());
+    }
+
+    @Test
+    void reportResult_flippedResult_movesTheWin() {
+        // Arrange
+        long firstWinnerId = firstMatch.player1().id();
+        long secondWinnerId = firstMatch.player2().id();
+        poolService.reportResult(tournamentId, new PoolResultRequest(1, 1, firstWinnerId));
+
+        // Act
+        PoolResponse pool = poolService.reportResult(tournamentId, new PoolResultRequest(1, 1, secondWinnerId));
+
+        // Assert
+        assertEquals(secondWinnerId, pool.matches().get(0).winnerId());
+        assertEquals(0, standingOf(pool, firstWinnerId).wins());
+        assertEquals(1, standingOf(pool, firstWinnerId).losses());
+        assertEquals(1, standingOf(pool, secondWinnerId).wins());
+        assertEquals(0, standingOf(pool, secondWinnerId).losses());
+    }
+
+    @Test
+    void reportResult_playerNotInMatch_throwsException() {
+        // Arrange
+        long outsiderId = poolService.getTournament(tournamentId).pools().get(0).standings().stream()
+                .map(standing -> standing.player().id())
+                .filter(id -> id != firstMatch.player1().id() && id != firstMatch.player2().id())
+                .findFirst().orElseThrow();
+
+        // Act
+        assertThrows(IllegalArgumentException.class,
+                () -> poolService.reportResult(tournamentId, new PoolResultRequest(1, 1, outsiderId)));
+
+        // Assert
+        PoolResponse pool = poolService.getTournament(tournamentId).pools().get(0);
+        assertNull(pool.matches().get(0).winnerId());
+        assertTrue(pool.standings().stream().allMatch(standing -> standing.wins() == 0 && standing.losses() == 0));
+    }
+
+    private PoolStandingResponse standingOf(PoolResponse pool, long playerId) {
+        return pool.standings().stream()
+                .filter(standing -> standing.player().id() == playerId)
+                .findFirst().orElseThrow();
+    }
+}
@@ -1,6 +1,8 @@
 package com.fightinggame.tournament.shared;
 
 import com.fightinggame.tournament.bracket.model.Bracket;
+import com.fightinggame.tournament.bracket.model.BracketSnapshot;
+import com.fightinggame.tournament.bracket.service.generator.DoubleEliminationGenerator;
 import com.fightinggame.tournament.bracket.service.generator.SingleEliminationGenerator;
 import com.fightinggame.tournament.match.model.Match;
 import com.fightinggame.tournament.player.model.Player;
@@ -10,6 +12,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -95,6 +98,54 @@ class MatchOperatorTest {
         assertNull(parent);
     }
 
+    @Test
+    void searchParentMatch_shouldAgreeWithTreeLinks_forEveryMatch() {
+        // Arrange
+        Bracket largeBracket = new SingleEliminationGenerator(new TournamentMathUtils()).generate(64);
+
+        // Act & Assert - every child found through the heap index must point back to its tree parent
+        for (int referenceValue = 1; referenceValue < 64; referenceValue++) {
+            Match match = operator.searchMatch(largeBracket, referenceValue);
+            assertNotNull(match);
+            assertEquals(referenceValue, match.getReferenceValue());
+
+            Match parent = operator.searchParentMatch(largeBracket, referenceValue);
+            if (match == largeBracket.getRootMatch()) {
+                assertNull(parent);
+            } else {
+                assertTrue(parent.getLeftMatch() == match || parent.getRightMatch() == match);
+            }
+        }
+    }
+
+    @Test
+    void searchMatch_shouldReturnNull_whenMatchWasRemovedFromIndex() {
+        // Arrange
+        Match leaf = operator.searchMatch(bracket, 7);
+        bracket.unindexMatch(leaf);
+
+        // Act & Assert
+        assertNull(operator.searchMatch(bracket, 7));
+        assertNull(operator.searchParentMatch(bracket, 7));
+    }
+
+    @Test
+    void searchMatch_shouldWalkTheTree_whenBracketHasNoIndex() {
+        // Arrange
+        Match root = new Match();
+        root.setReferenceValue(2);
+        Match left = new Match();
+        left.setReferenceValue(1);
+        root.setLeftMatch(left);
+
+        Bracket handBuilt = new Bracket();
+        handBuilt.setRootMatch(root);
+
+        // Act & Assert
+        assertSame(left, operator.searchMatch(handBuilt, 1));
+        assertSame(root, operator.searchParentMatch(handBuilt, 1));
+    }
+
     @Test
     void getLeaves_shouldReturnAllLeafMatches() {
         // Leaves should be odd values, in an 8-player bracket: 1, 3, 5 and 7
@@ -192,6 +243,87 @@ class MatchOperatorTest {
         assertEquals(match1.getPlayer1(), player1);
     }
 
+    @Test
+    void clearPlayerWins_shouldWalkUpThroughEveryRoundThePlayerReached() {
+        // Arrange
+        Player player = new Player(1, "Test Player");
+        Match match1 = operator.searchMatch(bracket, 1);
+        Match match2 = operator.searchMatch(bracket, 2);
+        Match root = bracket.getRootMatch();
+
+        match1.setPlayer1(player);
+        match1.setWinner(player);
+        match2.setPlayer1(player);
+        match2.setWinner(player);
+        root.setPlayer1(player);
+        root.setWinner(player);
+
+        // Act
+        operator.clearPlayerWins(match1, 1);
+
+        // Assert
+        assertSame(player, match1.getPlayer1());
+        assertNull(match1.getWinner());
+        assertNull(match2.getPlayer1());
+        assertNull(match2.getWinner());
+        assertNull(root.getPlayer1());
+        assertNull(root.getWinner());
+    }
+
+    @Test
+    void clearPlayerWins_shouldStopAtFirstMatchWithoutThePlayer() {
+        // Arrange
+        Player player = new Player(1, "Test Player");
+        Match match1 = operator.searchMatch(bracket, 1);
+        Match root = bracket.getRootMatch();
+
+        match1.setPlayer1(player);
+        match1.setWinner(player);
+        root.setPlayer1(player);    // Not reachable since match 2 doesn't have the player
+
+        // Act
+        operator.clearPlayerWins(match1, 1);
+
+        // Assert
+        assertNull(match1.getWinner());
+        assertSame(player, root.getPlayer1());
+    }
+
+    @Test
+    void searchParentMatch_shouldAgreeWithParentLinks() {
+        // Act & Assert
+        for (int referenceValue = 1; referenceValue < 8; referenceValue++) {
+            Match match = operator.searchMatch(bracket, referenceValue);
+            assertSame(operator.searchParentMatch(bracket, referenceValue), match.getParentMatch());
+        }
+    }
+
+    @Test
+    void publishPath_shouldCopyOnlyTheEditedPath() {
+        // Arrange
+        operator.publishSnapshot(bracket);
+        BracketSnapshot before = bracket.getSnapshot();
+
+        Player player = new Player(1, "Test Player");
+        Match match1 = operator.searchMatch(bracket, 1);
+        match1.setPlayer1(player);
+
+        // Act
+        operator.publishPath(bracket, match1);
+        BracketSnapshot after = bracket.getSnapshot();
+
+        // Assert - the new version sees the change, the old one is untouched
+        assertNotSame(before.rootMatch(), after.rootMatch());
+        assertSame(player, after.rootMatch().leftMatch().leftMatch().player1());
+        assertNull(before.rootMatch().leftMatch().leftMatch().player1());
+
+        assertEquals(before.version() + 1, after.version());
+
+        // Subtrees outside the path 1 -> 2 -> 4 are shared between versions
+        assertSame(before.rootMatch().rightMatch(), after.rootMatch().rightMatch());
+        assertSame(before.rootMatch().leftMatch().rightMatch(), after.rootMatch().leftMatch().rightMatch());
+    }
+
     @Test
     void allocateWinner_shouldSetPlayer1First() {
         // Arrange
@@ -247,4 +379,92 @@ class MatchOperatorTest {
         assertSame(existingPlayer2, nextMatch.getPlayer2());
     }
 
-}
\ No newline at end of file
+    @Test
+    void advanceResult_doubleElimination_shouldDropLosersAndPlayTheReset() {
+        // Arrange
+        Bracket doubleBracket = generateDoubleElimination();
+
+        // Act - winners side: a and c win, b and d drop; then b, a, c win and c takes the grand finals
+        play(doubleBracket, 1, 1);
+        play(doubleBracket, 3, 3);
+        play(doubleBracket, 4, 2);
+        play(doubleBracket, 2, 1);
+        play(doubleBracket, 5, 3);
+        play(doubleBracket, 6, 3);
+
+        // Assert
+        Match reset = doubleBracket.getRootMatch();
+        assertEquals(2, doubleBracket.getMatch(5).getPlayer1().getId());    // b survived the losers bracket
+        assertEquals(3, doubleBracket.getMatch(5).getPlayer2().getId());    // c dropped from the winners final
+        assertEquals(1, reset.getPlayer1().getId());
+        assertEquals(3, reset.getPlayer2().getId());
+        assertNull(reset.getWinner());
+    }
+
+    @Test
+    void advanceResult_grandFinalsWonByWinnersSide_shouldDecideWithoutReset() {
+        // Arrange
+        Bracket doubleBracket = generateDoubleElimination();
+        play(doubleBracket, 1, 1);
+        play(doubleBracket, 3, 3);
+        play(doubleBracket, 4, 2);
+        play(doubleBracket, 2, 1);
+        play(doubleBracket, 5, 3);
+
+        // Act
+        play(doubleBracket, 6, 1);
+
+        // Assert
+        Match reset = doubleBracket.getRootMatch();
+        assertEquals(1, reset.getWinner().getId());
+        assertNull(reset.getPlayer1());
+        assertNull(reset.getPlayer2());
+    }
+
+    @Test
+    void clearResult_doubleElimination_shouldVoidEveryDependentResult() {
+        // Arrange
+        Bracket doubleBracket = generateDoubleElimination();
+        play(doubleBracket, 1, 1);
+        play(doubleBracket, 3, 3);
+        play(doubleBracket, 4, 2);
+        play(doubleBracket, 2, 1);
+        play(doubleBracket, 5, 3);
+        play(doubleBracket, 6, 3);
+
+        // Act
+        operator.clearResult(doubleBracket, doubleBracket.getMatch(1), new ArrayList<>());
+
+        // Assert - only c's first win and d's drop remain
+        Match winnersFinal = doubleBracket.getMatch(2);
+        assertNull(winnersFinal.getWinner());
+        assertEquals(3, (winnersFinal.getPlayer1() != null ? winnersFinal.getPlayer1() : winnersFinal.getPlayer2()).getId());
+        Match losersFirst = doubleBracket.getMatch(4);
+        assertNull(losersFirst.getWinner());
+        assertEquals(4, (losersFirst.getPlayer1() != null ? losersFirst.getPlayer1() : losersFirst.getPlayer2()).getId());
+        assertNull(doubleBracket.getMatch(5).getPlayer1());
+        assertNull(doubleBracket.getMatch(5).getPlayer2());
+        assertNull(doubleBracket.getGrandFinal().getPlayer1());
+        assertNull(doubleBracket.getGrandFinal().getPlayer2());
+        assertNull(doubleBracket.getRootMatch().getPlayer1());
+    }
+
+    /**
+     * 4 players: a (1) and b (2) in match 1, c (3) and d (4) in match 3
+     */
+    private Bracket generateDoubleElimination() {
+        Bracket doubleBracket = new DoubleEliminationGenerator(new SingleEliminationGenerator(new TournamentMathUtils()))
+                .generate(4);
+        doubleBracket.getMatch(1).setPlayer1(new Player(1, "a"));
+        doubleBracket.getMatch(1).setPlayer2(new Player(2, "b"));
+        doubleBracket.getMatch(3).setPlayer1(new Player(3, "c"));
+        doubleBracket.getMatch(3).setPlayer2(new Player(4, "d"));
+        return doubleBracket;
+    }
+
+    private void play(Bracket doubleBracket, int referenceValue, long winnerId) {
+        Match match = doubleBracket.getMatch(referenceValue);
+        match.setWinner(match.getPlayer1().getId() == winnerId ? match.getPlayer1() : match.getPlayer2());
+        operator.advanceResult(doubleBracket, match, new ArrayList<>());
+    }
+}
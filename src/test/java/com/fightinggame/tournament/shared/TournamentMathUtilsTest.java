@@ -60,6 +60,34 @@ class TournamentMathUtilsTest {
         );
     }
 
+    @ParameterizedTest
+    @MethodSource("largeValuesProvider")
+    void calculateDepth_shouldBeExact_nearPowersOfTwo(int players, int expectedDepth) {
+        assertEquals(expectedDepth, mathUtils.calculateDepth(players));
+    }
+
+    private static Stream<Arguments> largeValuesProvider() {
+        return Stream.of(
+                Arguments.of((1 << 29) - 1, 29),
+                Arguments.of(1 << 29, 29),
+                Arguments.of((1 << 29) + 1, 30),
+                Arguments.of(1 << 30, 30),
+                Arguments.of((1 << 30) + 1, 31)
+        );
+    }
+
+    @Test
+    void nextPowerOfTwo_shouldHandleLargestBracket() {
+        assertEquals(1 << 30, mathUtils.nextPowerOfTwo((1 << 29) + 1));
+        assertEquals(1 << 30, mathUtils.nextPowerOfTwo(1 << 30));
+    }
+
+    @Test
+    void nextPowerOfTwo_shouldRejectValuesThatOverflow() {
+        assertThrows(IllegalArgumentException.class, () -> mathUtils.nextPowerOfTwo((1 << 30) + 1));
+        assertThrows(IllegalArgumentException.class, () -> mathUtils.nextPowerOfTwo(Integer.MAX_VALUE));
+    }
+
     @ParameterizedTest
     @ValueSource(ints = {0, -1, -5, -100})
     void calculateDepth_shouldHandleInvalidInput(int invalidInput) {
@@ -91,6 +119,46 @@ class TournamentMathUtilsTest {
         assertEquals(expected, mathUtils.calculateIndexesToPlayerInsertionOrder(16));
     }
 
+    @Test
+    void calculateSeedOrder_shouldReturnBitReversalOrderFor8Leaves() {
+        int[] expected = {0, 4, 2, 6, 1, 5, 3, 7};
+        assertArrayEquals(expected, mathUtils.calculateSeedOrder(8));
+    }
+
+    @Test
+    void calculateSeedOrder_shouldReturnBitReversalOrderFor16Leaves() {
+        int[] expected = {0, 8, 4, 12, 2, 10, 6, 14, 1, 9, 5, 13, 3, 11, 7, 15};
+        assertArrayEquals(expected, mathUtils.calculateSeedOrder(16));
+    }
+
+    @Test
+    void calculateSeedOrder_shouldReturnBitReversalOrderFor32Leaves() {
+        // The swap based list version gave 0, 16, 4, 20, 8, 24, ... from this size on
+        int[] expected = {0, 16, 8, 24, 4, 20, 12, 28, 2, 18, 10, 26, 6, 22, 14, 30,
+                1, 17, 9, 25, 5, 21, 13, 29, 3, 19, 11, 27, 7, 23, 15, 31};
+        assertArrayEquals(expected, mathUtils.calculateSeedOrder(32));
+    }
+
+    @Test
+    void calculateSeedOrder_shouldReturnBitReversalOrderFor64Leaves() {
+        int[] expected = {0, 32, 16, 48, 8, 40, 24, 56, 4, 36, 20, 52, 12, 44, 28, 60,
+                2, 34, 18, 50, 10, 42, 26, 58, 6, 38, 22, 54, 14, 46, 30, 62,
+                1, 33, 17, 49, 9, 41, 25, 57, 5, 37, 21, 53, 13, 45, 29, 61,
+                3, 35, 19, 51, 11, 43, 27, 59, 7, 39, 23, 55, 15, 47, 31, 63};
+        assertArrayEquals(expected, mathUtils.calculateSeedOrder(64));
+    }
+
+    @Test
+    void calculateSeedOrder_shouldBeComputedOncePerSize() {
+        assertSame(mathUtils.calculateSeedOrder(64), mathUtils.calculateSeedOrder(64));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -4, 3, 6, 12})
+    void calculateSeedOrder_shouldRejectNonPowerOfTwo(int numLeaves) {
+        assertThrows(IllegalArgumentException.class, () -> mathUtils.calculateSeedOrder(numLeaves));
+    }
+
     @Test
     void calculateIndexesToPlayerInsertionOrder_shouldHandleOddNumberOfLeaves() {
         // For non-power-of-two, it should still work (though in practice numLeaves should be power of 2)
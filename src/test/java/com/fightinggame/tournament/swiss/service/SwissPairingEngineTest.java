@@ -0,0 +1,159 @@
+package com.fightinggame.tournament.swiss.service;
+
+import com.fightinggame.tournament.player.model.Player;
+import com.fightinggame.tournament.swiss.model.SwissRound;
+import com.fightinggame.tournament.swiss.model.SwissTournament;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwissPairingEngineTest {
+
+    private final SwissPairingEngine engine = new SwissPairingEngine();
+
+    @Test
+    void pairNextRound_firstRound_topHalfAgainstBottomHalfByRating() {
+        // Arrange - ids 1..8 with rating 10 * id, so seed 0 is player 8
+        SwissTournament tournament = new SwissTournament(1, players(8));
+
+        // Act
+        SwissRound round = engine.pairNextRound(tournament);
+
+        // Assert
+        assertEquals(4, round.getTables());
+        for (int table = 0; table < 4; table++) {
+            assertEquals(table, round.getPlayer1()[table]);
+            assertEquals(table + 4, round.getPlayer2()[table]);
+        }
+        assertEquals(8, tournament.getPlayers()[0].getId());
+    }
+
+    @Test
+    void pairNextRound_oddField_byeGoesToLowestRankedWithoutBye() {
+        // Arrange
+        SwissTournament tournament = new SwissTournament(1, players(5));
+
+        // Act
+        SwissRound first = engine.pairNextRound(tournament);
+        reportAll(tournament, first, new Random(1));
+        SwissRound second = engine.pairNextRound(tournament);
+
+        // Assert
+        int firstBye = byeOf(first);
+        int secondBye = byeOf(second);
+        assertEquals(4, firstBye);
+        assertNotEquals(firstBye, secondBye);
+        assertTrue(tournament.getReceivedBye()[firstBye]);
+        assertTrue(tournament.getReceivedBye()[secondBye]);
+        assertFalse(second.isComplete());
+    }
+
+    @Test
+    void pairNextRound_moreRoundsThanPlayers_repeatsByeForLowestRanked() {
+        // Arrange
+        int size = 3;
+        SwissTournament tournament = new SwissTournament(1, players(size));
+        Random random = new Random(3);
+        boolean[] hadBye = new boolean[size];
+
+        for (int roundNumber = 0; roundNumber < size + 2; roundNumber++) {
+            int[] ranking = engine.rank(tournament);
+
+            // Act
+            SwissRound round = engine.pairNextRound(tournament);
+
+            // Assert - every player sits out once before anyone gets a second bye, then it falls to the last ranked
+            int bye = byeOf(round);
+            assertNotEquals(SwissRound.NONE, bye);
+            if (roundNumber < size) {
+                assertFalse(hadBye[bye]);
+                hadBye[bye] = true;
+            } else {
+                assertEquals(ranking[size - 1], bye);
+            }
+            assertEquals(size / 2 + 1, round.getTables());
+            reportAll(tournament, round, random);
+        }
+    }
+
+    @Test
+    void pairNextRound_afterResults_pairsWithinScoreGroups() {
+        // Arrange
+        SwissTournament tournament = new SwissTournament(1, players(8));
+        SwissRound first = engine.pairNextRound(tournament);
+        for (int table = 0; table < first.getTables(); table++) {
+            win(tournament, first, table, first.getPlayer1()[table]);   // Seeds 0-3 win
+        }
+
+        // Act
+        SwissRound second = engine.pairNextRound(tournament);
+
+        // Assert - winners face winners, 0 against 2 and 1 against 3
+        for (int table = 0; table < second.getTables(); table++) {
+            assertEquals(tournament.getPoints()[second.getPlayer1()[table]], tournament.getPoints()[second.getPlayer2()[table]]);
+        }
+        assertEquals(0, second.getPlayer1()[0]);
+        assertEquals(2, second.getPlayer2()[0]);
+    }
+
+    @Test
+    void pairNextRound_largeField_neverRepeatsPairs() {
+        // Arrange
+        int size = 20_001;
+        SwissTournament tournament = new SwissTournament(1, players(size));
+        Random random = new Random(7);
+        int pairs = 0;
+
+        // Act
+        for (int roundNumber = 0; roundNumber < 10; roundNumber++) {
+            SwissRound round = engine.pairNextRound(tournament);
+
+            // Assert - everybody plays exactly once per round
+            boolean[] seen = new boolean[size];
+            for (int table = 0; table < round.getTables(); table++) {
+                assertFalse(seen[round.getPlayer1()[table]]);
+                seen[round.getPlayer1()[table]] = true;
+                if (round.getPlayer2()[table] != SwissRound.NONE) {
+                    assertFalse(seen[round.getPlayer2()[table]]);
+                    seen[round.getPlayer2()[table]] = true;
+                    pairs++;
+                }
+            }
+            reportAll(tournament, round, random);
+        }
+
+        // Assert - the rematch index holds one entry per pairing, so no pair was repeated
+        assertEquals(pairs, tournament.getPlayedPairs().size());
+    }
+
+    private List<Player> players(int count) {
+        List<Player> players = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            players.add(new Player(id, "Player " + id, id * 10));
+        }
+        return players;
+    }
+
+    private void reportAll(SwissTournament tournament, SwissRound round, Random random) {
+        for (int table = 0; table < round.getTables(); table++) {
+            if (round.getPlayer2()[table] == SwissRound.NONE) continue;
+            win(tournament, round, table, random.nextBoolean() ? round.getPlayer1()[table] : round.getPlayer2()[table]);
+        }
+    }
+
+    private void win(SwissTournament tournament, SwissRound round, int table, int seed) {
+        round.setWinner(table, seed);
+        tournament.getPoints()[seed]++;
+    }
+
+    private int byeOf(SwissRound round) {
+        for (int table = 0; table < round.getTables(); table++) {
+            if (round.getPlayer2()[table] == SwissRound.NONE) return round.getPlayer1()[table];
+        }
+        return SwissRound.NONE;
+    }
+}